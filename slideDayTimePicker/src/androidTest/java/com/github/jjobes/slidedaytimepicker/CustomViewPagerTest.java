@@ -0,0 +1,147 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.support.v4.view.PagerAdapter;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+/**
+ * Checks that {@link CustomViewPager} only measures its page again to
+ * find its own height when the page has actually changed.
+ *
+ * @author jjobes
+ *
+ */
+public class CustomViewPagerTest extends InstrumentationTestCase
+{
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(480, MeasureSpec.EXACTLY);
+    private static final int HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(800, MeasureSpec.AT_MOST);
+
+    private CustomViewPager mPager;
+    private WheelView mDayWheel;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        getInstrumentation().runOnMainSync(new Runnable() {
+
+            @Override
+            public void run()
+            {
+                mPager = new CustomViewPager(getInstrumentation().getTargetContext());
+                mPager.setLayoutParams(new ViewGroup.LayoutParams(
+                        ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+                mDayWheel = createWheel();
+                mPager.setAdapter(new WheelPagerAdapter(mDayWheel, createWheel()));
+
+                // The first pass adds the pages, the second one sizes the pager to them.
+                measureAndLayout();
+                measureAndLayout();
+            }
+        });
+    }
+
+    @UiThreadTest
+    public void testPagerHasThePageHeight()
+    {
+        assertEquals(mDayWheel.getMeasuredHeight(), mPager.getMeasuredHeight());
+        assertEquals(mPager.getMeasuredHeight(), mDayWheel.getHeight());
+    }
+
+    @UiThreadTest
+    public void testRemeasureWithSameSpecsDoesNotMeasurePage()
+    {
+        int measureCount = mPager.getMeasureCount();
+        int pageMeasureCount = mPager.getPageMeasureCount();
+
+        // What the dialog does when another child, such as the tab text,
+        // requests a layout of the whole dialog.
+        mPager.forceLayout();
+        measureAndLayout();
+
+        assertEquals(measureCount + 1, mPager.getMeasureCount());
+        assertEquals(pageMeasureCount, mPager.getPageMeasureCount());
+    }
+
+    @UiThreadTest
+    public void testValueChangeDoesNotMeasurePage()
+    {
+        int pageMeasureCount = mPager.getPageMeasureCount();
+
+        mDayWheel.setValue(4);
+
+        assertFalse(mPager.isLayoutRequested());
+
+        mPager.forceLayout();
+        measureAndLayout();
+
+        assertEquals(pageMeasureCount, mPager.getPageMeasureCount());
+    }
+
+    @UiThreadTest
+    public void testPageLayoutRequestMeasuresPage()
+    {
+        int pageMeasureCount = mPager.getPageMeasureCount();
+
+        mDayWheel.setMaxValue(365);
+        measureAndLayout();
+
+        assertEquals(pageMeasureCount + 1, mPager.getPageMeasureCount());
+    }
+
+    private void measureAndLayout()
+    {
+        mPager.measure(WIDTH_SPEC, HEIGHT_SPEC);
+        mPager.layout(0, 0, mPager.getMeasuredWidth(), mPager.getMeasuredHeight());
+    }
+
+    private WheelView createWheel()
+    {
+        WheelView wheel = new WheelView(getInstrumentation().getTargetContext());
+        wheel.setMinValue(0);
+        wheel.setMaxValue(6);
+
+        return wheel;
+    }
+
+    private static class WheelPagerAdapter extends PagerAdapter
+    {
+        private final View[] mPages;
+
+        WheelPagerAdapter(View... pages)
+        {
+            mPages = pages;
+        }
+
+        @Override
+        public Object instantiateItem(ViewGroup container, int position)
+        {
+            container.addView(mPages[position]);
+
+            return mPages[position];
+        }
+
+        @Override
+        public void destroyItem(ViewGroup container, int position, Object object)
+        {
+            container.removeView((View) object);
+        }
+
+        @Override
+        public boolean isViewFromObject(View view, Object object)
+        {
+            return view == object;
+        }
+
+        @Override
+        public int getCount()
+        {
+            return mPages.length;
+        }
+    }
+}
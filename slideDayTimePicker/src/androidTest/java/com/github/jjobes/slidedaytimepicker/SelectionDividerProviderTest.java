@@ -0,0 +1,64 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+
+/**
+ * Checks that opening the dialog does not decode the selection divider
+ * from resources again once it has been loaded.
+ *
+ * @author jjobes
+ *
+ */
+public class SelectionDividerProviderTest extends InstrumentationTestCase
+{
+    private static final int DIALOG_OPENS = 5;
+
+    private LayoutInflater mInflater;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        Context context = new ContextThemeWrapper(getInstrumentation().getTargetContext(),
+                android.R.style.Theme_Holo_Light_Dialog_NoActionBar);
+
+        mInflater = LayoutInflater.from(context);
+    }
+
+    @UiThreadTest
+    public void testOpeningTheDialogDoesNotReloadTheDivider()
+    {
+        // The first open may load the divider.
+        inflatePages();
+
+        int loadCount = SelectionDividerProvider.getLoadCount();
+
+        for (int i = 0; i < DIALOG_OPENS; i++)
+            inflatePages();
+
+        assertEquals(loadCount, SelectionDividerProvider.getLoadCount());
+    }
+
+    public void testEachWheelGetsItsOwnDrawable()
+    {
+        Resources res = getInstrumentation().getTargetContext().getResources();
+
+        assertNotSame(SelectionDividerProvider.getDrawable(res),
+                SelectionDividerProvider.getDrawable(res));
+    }
+
+    /**
+     * Inflate the day and time pages the way one dialog open does.
+     */
+    private void inflatePages()
+    {
+        assertNotNull(mInflater.inflate(R.layout.fragment_day, null, false));
+        assertNotNull(mInflater.inflate(R.layout.fragment_time, null, false));
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.util.Arrays;
+
+import android.os.Parcel;
+import junit.framework.TestCase;
+
+/**
+ * Checks the parcel size of {@link SlideDayTimeConfig} and that every
+ * value survives being parcelled.
+ *
+ * @author jjobes
+ *
+ */
+public class SlideDayTimeConfigTest extends TestCase
+{
+    private static final int PARCEL_SIZE_WITHOUT_DAYS_ARRAY = 24;
+
+    private static final String[] DAYS = { "Today", "Tomorrow", "Next week" };
+
+    public void testParcelWithoutDaysArrayIs24Bytes()
+    {
+        assertEquals(PARCEL_SIZE_WITHOUT_DAYS_ARRAY, parcelSize(createConfig(null)));
+    }
+
+    public void testPageConfigParcelIs24Bytes()
+    {
+        SlideDayTimeConfig config = createConfig(DAYS).forPage(2, 23, 59);
+
+        assertEquals(PARCEL_SIZE_WITHOUT_DAYS_ARRAY, parcelSize(config));
+    }
+
+    public void testParcelWithDaysArrayIsLarger()
+    {
+        assertTrue(parcelSize(createConfig(DAYS)) > PARCEL_SIZE_WITHOUT_DAYS_ARRAY);
+    }
+
+    public void testRoundTripWithoutDaysArray()
+    {
+        SlideDayTimeConfig config = createConfig(null);
+
+        assertSameValues(config, roundTrip(config));
+    }
+
+    public void testRoundTripWithDaysArray()
+    {
+        SlideDayTimeConfig config = createConfig(DAYS);
+
+        assertSameValues(config, roundTrip(config));
+    }
+
+    public void testRoundTripOfPageConfig()
+    {
+        SlideDayTimeConfig config = createConfig(DAYS).forPage(2, 23, 59);
+        SlideDayTimeConfig copy = roundTrip(config);
+
+        assertSameValues(config, copy);
+        assertEquals(2, copy.getDay());
+        assertEquals(23, copy.getHour());
+        assertEquals(59, copy.getMinute());
+    }
+
+    private static SlideDayTimeConfig createConfig(String[] customDaysArray)
+    {
+        return new SlideDayTimeConfig(customDaysArray != null, customDaysArray,
+                false, 1, 13, 45, true, false, SlideDayTimePicker.HOLO_DARK,
+                0xff33b5e5, true, false, true, 42, 150L);
+    }
+
+    private static int parcelSize(SlideDayTimeConfig config)
+    {
+        Parcel parcel = Parcel.obtain();
+
+        try
+        {
+            config.writeToParcel(parcel, 0);
+            return parcel.dataSize();
+        }
+        finally
+        {
+            parcel.recycle();
+        }
+    }
+
+    private static SlideDayTimeConfig roundTrip(SlideDayTimeConfig config)
+    {
+        Parcel parcel = Parcel.obtain();
+
+        try
+        {
+            config.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+
+            SlideDayTimeConfig copy = SlideDayTimeConfig.CREATOR.createFromParcel(parcel);
+
+            assertEquals(parcel.dataSize(), parcel.dataPosition());
+
+            return copy;
+        }
+        finally
+        {
+            parcel.recycle();
+        }
+    }
+
+    private static void assertSameValues(SlideDayTimeConfig expected, SlideDayTimeConfig actual)
+    {
+        assertEquals(expected.getDay(), actual.getDay());
+        assertEquals(expected.getDayIndex(), actual.getDayIndex());
+        assertEquals(expected.getHour(), actual.getHour());
+        assertEquals(expected.getMinute(), actual.getMinute());
+        assertEquals(expected.isCustomDaysArraySpecified(), actual.isCustomDaysArraySpecified());
+        assertTrue(Arrays.equals(expected.getCustomDaysArray(), actual.getCustomDaysArray()));
+        assertEquals(expected.isDaysProviderSpecified(), actual.isDaysProviderSpecified());
+        assertEquals(expected.hasCustomDays(), actual.hasCustomDays());
+        assertEquals(expected.isClientSpecified24HourTime(), actual.isClientSpecified24HourTime());
+        assertEquals(expected.is24HourTime(), actual.is24HourTime());
+        assertEquals(expected.getTheme(), actual.getTheme());
+        assertEquals(expected.getIndicatorColor(), actual.getIndicatorColor());
+        assertEquals(expected.useWheelViews(), actual.useWheelViews());
+        assertEquals(expected.inflateAsync(), actual.inflateAsync());
+        assertEquals(expected.useViewPages(), actual.useViewPages());
+        assertEquals(expected.getRequestCode(), actual.getRequestCode());
+        assertEquals(expected.getChangingIntervalMillis(), actual.getChangingIntervalMillis());
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import android.app.Activity;
+import android.app.Instrumentation;
+import android.content.Intent;
+import android.content.pm.ActivityInfo;
+import android.content.res.Configuration;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+
+/**
+ * Checks that the retained dialog does not keep the activities that
+ * showed it alive across orientation changes.
+ *
+ * @author jjobes
+ *
+ */
+public class SlideDayTimeDialogFragmentTest extends InstrumentationTestCase
+{
+    private static final int ROTATIONS = 6;
+    private static final long ACTIVITY_TIMEOUT_MILLIS = 5000;
+    private static final int GC_ATTEMPTS = 10;
+
+    private TestHostActivity mActivity;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        Instrumentation instrumentation = getInstrumentation();
+        Intent intent = new Intent(Intent.ACTION_MAIN)
+                .setClassName(instrumentation.getTargetContext(), TestHostActivity.class.getName())
+                .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+
+        mActivity = (TestHostActivity) instrumentation.startActivitySync(intent);
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        if (mActivity != null)
+        {
+            mActivity.finish();
+            mActivity = null;
+        }
+
+        super.tearDown();
+    }
+
+    public void testRotatingDoesNotRetainActivities()
+    {
+        final Instrumentation instrumentation = getInstrumentation();
+
+        instrumentation.runOnMainSync(new Runnable() {
+
+            @Override
+            public void run()
+            {
+                new SlideDayTimePicker.Builder(mActivity.getSupportFragmentManager())
+                    .setListener(mActivity.getSlideDayTimeListener())
+                    .setInitialDay(Calendar.MONDAY)
+                    .setInitialHour(13)
+                    .setInitialMinute(30)
+                    .build()
+                    .show();
+            }
+        });
+        instrumentation.waitForIdleSync();
+
+        List<WeakReference<Activity>> oldActivities = new ArrayList<WeakReference<Activity>>();
+
+        for (int i = 0; i < ROTATIONS; i++)
+        {
+            oldActivities.add(new WeakReference<Activity>(mActivity));
+            mActivity = rotate(mActivity);
+        }
+
+        assertNotNull("The dialog was not restored after rotating",
+                mActivity.getSupportFragmentManager().findFragmentByTag(
+                        SlideDayTimeDialogFragment.TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT));
+
+        for (int attempt = 0; attempt < GC_ATTEMPTS && !allCleared(oldActivities); attempt++)
+        {
+            Runtime.getRuntime().gc();
+            System.runFinalization();
+            SystemClock.sleep(100);
+        }
+
+        for (int i = 0; i < oldActivities.size(); i++)
+            assertNull("Activity " + i + " was retained", oldActivities.get(i).get());
+    }
+
+    /**
+     * Switch the activity to the other orientation and wait for it to be
+     * recreated.
+     *
+     * @return the new activity
+     */
+    private TestHostActivity rotate(final Activity activity)
+    {
+        Instrumentation instrumentation = getInstrumentation();
+        Instrumentation.ActivityMonitor monitor =
+                instrumentation.addMonitor(TestHostActivity.class.getName(), null, false);
+
+        try
+        {
+            final int orientation = activity.getResources().getConfiguration().orientation
+                    == Configuration.ORIENTATION_PORTRAIT ?
+                    ActivityInfo.SCREEN_ORIENTATION_LANDSCAPE :
+                    ActivityInfo.SCREEN_ORIENTATION_PORTRAIT;
+
+            instrumentation.runOnMainSync(new Runnable() {
+
+                @Override
+                public void run()
+                {
+                    activity.setRequestedOrientation(orientation);
+                }
+            });
+
+            Activity next = instrumentation.waitForMonitorWithTimeout(monitor,
+                    ACTIVITY_TIMEOUT_MILLIS);
+
+            assertNotNull("The activity was not recreated", next);
+            assertNotSame(activity, next);
+
+            instrumentation.waitForIdleSync();
+
+            return (TestHostActivity) next;
+        }
+        finally
+        {
+            instrumentation.removeMonitor(monitor);
+        }
+    }
+
+    private static boolean allCleared(List<WeakReference<Activity>> references)
+    {
+        for (WeakReference<Activity> reference : references)
+        {
+            if (reference.get() != null)
+                return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.Context;
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+/**
+ * Checks that the time tab text can change as the time picker scrolls
+ * without laying out the tabs again, once its width has been pinned
+ * with {@link SlidingTabLayout#setTabTextWidth(int, float)}.
+ *
+ * @author jjobes
+ *
+ */
+public class SlidingTabLayoutTest extends InstrumentationTestCase
+{
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(480, MeasureSpec.EXACTLY);
+    private static final int HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+    private static final int[] MINUTES = { 0, 9, 30, 59 };
+
+    private SlidingTabLayout mTabs;
+    private TimeLabelFormatter mFormatter;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        getInstrumentation().runOnMainSync(new Runnable() {
+
+            @Override
+            public void run()
+            {
+                Context context = getInstrumentation().getTargetContext();
+
+                ViewPager pager = new ViewPager(context);
+                pager.setAdapter(new TwoPageAdapter());
+
+                mTabs = new SlidingTabLayout(context);
+                mTabs.setLayoutParams(new ViewGroup.LayoutParams(
+                        ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+                mTabs.setFixedTabs(true);
+                mTabs.setCustomTabView(R.layout.custom_tab, R.id.tabText);
+                mTabs.setViewPager(pager);
+
+                mFormatter = new TimeLabelFormatter();
+                mFormatter.setFormat(context, true, false);
+
+                mTabs.setTabText(0, "Sun");
+                mTabs.setTabText(1, mFormatter.format(1, 0));
+
+                layoutIfRequested();
+            }
+        });
+    }
+
+    @UiThreadTest
+    public void testPinnedTabTextChangesDoNotRequestLayout()
+    {
+        float widestTime = 0f;
+
+        for (int hour = 0; hour < 24; hour++)
+        {
+            for (int minute : MINUTES)
+                widestTime = Math.max(widestTime,
+                        mTabs.measureTabText(1, mFormatter.format(hour, minute)));
+        }
+
+        mTabs.setTabTextWidth(1, widestTime);
+        layoutIfRequested();
+
+        int layoutCount = mTabs.getLayoutCount();
+
+        for (int hour = 0; hour < 24; hour++)
+        {
+            for (int minute : MINUTES)
+            {
+                mTabs.setTabText(1, mFormatter.format(hour, minute));
+
+                assertFalse("Layout requested for " + mFormatter.format(hour, minute),
+                        mTabs.isLayoutRequested());
+
+                layoutIfRequested();
+            }
+        }
+
+        assertEquals(layoutCount, mTabs.getLayoutCount());
+    }
+
+    @UiThreadTest
+    public void testUnpinnedTabTextChangeRequestsLayout()
+    {
+        int layoutCount = mTabs.getLayoutCount();
+
+        mTabs.setTabText(0, "Wednesday");
+
+        assertTrue(mTabs.isLayoutRequested());
+
+        layoutIfRequested();
+
+        assertEquals(layoutCount + 1, mTabs.getLayoutCount());
+    }
+
+    @UiThreadTest
+    public void testSameTabTextIsIgnored()
+    {
+        int layoutCount = mTabs.getLayoutCount();
+
+        mTabs.setTabText(0, "Sun");
+
+        assertFalse(mTabs.isLayoutRequested());
+        assertEquals(layoutCount, mTabs.getLayoutCount());
+    }
+
+    /**
+     * Measure and lay out the tabs only if they have requested it, as the
+     * next frame would.
+     */
+    private void layoutIfRequested()
+    {
+        if (!mTabs.isLayoutRequested())
+            return;
+
+        mTabs.measure(WIDTH_SPEC, HEIGHT_SPEC);
+        mTabs.layout(0, 0, mTabs.getMeasuredWidth(), mTabs.getMeasuredHeight());
+    }
+
+    private static class TwoPageAdapter extends PagerAdapter
+    {
+        @Override
+        public Object instantiateItem(ViewGroup container, int position)
+        {
+            View page = new View(container.getContext());
+            container.addView(page);
+
+            return page;
+        }
+
+        @Override
+        public void destroyItem(ViewGroup container, int position, Object object)
+        {
+            container.removeView((View) object);
+        }
+
+        @Override
+        public boolean isViewFromObject(View view, Object object)
+        {
+            return view == object;
+        }
+
+        @Override
+        public int getCount()
+        {
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.support.v4.app.FragmentActivity;
+
+/**
+ * An activity that shows the picker in instrumentation tests. Like a
+ * client activity, it hands its listener back to the dialog through
+ * {@link SlideDayTimePicker.ListenerProvider} after it is recreated.
+ *
+ * @author jjobes
+ *
+ */
+public class TestHostActivity extends FragmentActivity
+    implements SlideDayTimePicker.ListenerProvider
+{
+    // An inner class, so that it holds a reference to this activity.
+    private final SlideDayTimeListener mListener = new SlideDayTimeListener() {
+
+        @Override
+        public void onDayTimeSet(int day, int hour, int minute)
+        {
+            setTitle(day + " " + hour + ":" + minute);
+        }
+    };
+
+    @Override
+    public SlideDayTimeListener getSlideDayTimeListener()
+    {
+        return mListener;
+    }
+}
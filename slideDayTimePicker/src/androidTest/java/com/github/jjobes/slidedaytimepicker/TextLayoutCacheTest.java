@@ -0,0 +1,55 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.graphics.Paint;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks that once the minute labels have been measured, scrolling
+ * through them again is served entirely from {@link TextLayoutCache}.
+ *
+ * @author jjobes
+ *
+ */
+public class TextLayoutCacheTest extends TestCase
+{
+    public void testSteadyStateScrollingOnlyHitsTheCache()
+    {
+        // A text size no other test uses, so that the labels start out uncached.
+        Paint paint = new Paint();
+        paint.setTextSize(37.5f);
+
+        TextLayoutCache.MeasuredLabel[] firstPass = new TextLayoutCache.MeasuredLabel[60];
+
+        for (int minute = 0; minute < 60; minute++)
+            firstPass[minute] = TextLayoutCache.get(label(minute), paint);
+
+        int hits = TextLayoutCache.hitCount();
+        int misses = TextLayoutCache.missCount();
+
+        for (int minute = 0; minute < 60; minute++)
+            assertSame(firstPass[minute], TextLayoutCache.get(label(minute), paint));
+
+        assertEquals(misses, TextLayoutCache.missCount());
+        assertEquals(hits + 60, TextLayoutCache.hitCount());
+    }
+
+    public void testPaintsWithDifferentSizesAreCachedSeparately()
+    {
+        Paint small = new Paint();
+        small.setTextSize(11.5f);
+        Paint large = new Paint();
+        large.setTextSize(41.5f);
+
+        TextLayoutCache.MeasuredLabel smallLabel = TextLayoutCache.get("12:59 PM", small);
+        TextLayoutCache.MeasuredLabel largeLabel = TextLayoutCache.get("12:59 PM", large);
+
+        assertNotSame(smallLabel, largeLabel);
+        assertTrue(largeLabel.width > smallLabel.width);
+    }
+
+    private static String label(int minute)
+    {
+        return minute < 10 ? "0" + minute : Integer.toString(minute);
+    }
+}
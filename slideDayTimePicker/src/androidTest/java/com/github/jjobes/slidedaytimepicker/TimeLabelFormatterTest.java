@@ -0,0 +1,173 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import android.content.Context;
+import android.test.InstrumentationTestCase;
+import android.util.Log;
+
+/**
+ * Checks that {@link TimeLabelFormatter} keeps its formatter while the
+ * time picker scrolls, and that its minute-of-day tables give the same
+ * labels as formatting each time, faster.
+ *
+ * @author jjobes
+ *
+ */
+public class TimeLabelFormatterTest extends InstrumentationTestCase
+{
+    private static final String TAG = "TimeLabelFormatterTest";
+
+    private static final int BENCHMARK_PASSES = 20;
+
+    private Context mContext;
+    private TimeLabelFormatter mFormatter;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        mContext = getInstrumentation().getTargetContext();
+        mFormatter = new TimeLabelFormatter();
+    }
+
+    public void testFormattingAnHourOfMinutesKeepsTheFormatter()
+    {
+        mFormatter.setFormat(mContext, true, false);
+        DateFormat format = mFormatter.getDateFormat();
+
+        for (int minute = 0; minute < 60; minute++)
+        {
+            // The dialog calls setFormat() before every tab update.
+            mFormatter.setFormat(mContext, true, false);
+            assertNotNull(mFormatter.format(13, minute));
+
+            assertSame(format, mFormatter.getDateFormat());
+        }
+    }
+
+    public void testDeviceFormatIsKept()
+    {
+        mFormatter.setFormat(mContext, false, false);
+        DateFormat format = mFormatter.getDateFormat();
+
+        mFormatter.setFormat(mContext, false, false);
+
+        assertSame(format, mFormatter.getDateFormat());
+    }
+
+    public void testChangingTheModeReplacesTheFormatter()
+    {
+        mFormatter.setFormat(mContext, true, false);
+        DateFormat format = mFormatter.getDateFormat();
+
+        mFormatter.setFormat(mContext, true, true);
+
+        assertNotSame(format, mFormatter.getDateFormat());
+    }
+
+    public void testFormatBeforeSetFormatThrows()
+    {
+        try
+        {
+            mFormatter.format(0, 0);
+            fail("Expected IllegalStateException");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+    }
+
+    public void testLabelsMatchSimpleDateFormat()
+    {
+        DateFormat expected = new SimpleDateFormat("HH:mm", Locale.getDefault());
+        expected.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        mFormatter.setFormat(mContext, true, true);
+
+        // Format each minute twice so that the second one comes from the table.
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (int hour = 0; hour < 24; hour++)
+            {
+                for (int minute = 0; minute < 60; minute++)
+                {
+                    Date date = new Date((hour * 60 + minute) * 60 * 1000L);
+
+                    assertEquals(expected.format(date), mFormatter.format(hour, minute));
+                }
+            }
+        }
+    }
+
+    public void testModesDoNotEvictEachOther()
+    {
+        mFormatter.setFormat(mContext, true, false);
+        String label = mFormatter.format(13, 5);
+
+        TimeLabelFormatter other = new TimeLabelFormatter();
+        other.setFormat(mContext, true, true);
+        other.format(13, 5);
+
+        TimeLabelFormatter again = new TimeLabelFormatter();
+        again.setFormat(mContext, true, false);
+
+        assertSame(label, again.format(13, 5));
+    }
+
+    public void testTableLookupIsFasterThanSimpleDateFormat()
+    {
+        mFormatter.setFormat(mContext, true, false);
+        mFormatter.fillLabelTable();
+
+        DateFormat format = new SimpleDateFormat("h:mm aa", Locale.getDefault());
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        Date date = new Date();
+
+        // Warm up both paths before timing them.
+        formatDay(format, date);
+        lookUpDay();
+
+        long startNanos = System.nanoTime();
+        for (int pass = 0; pass < BENCHMARK_PASSES; pass++)
+            formatDay(format, date);
+        long formatNanos = System.nanoTime() - startNanos;
+
+        startNanos = System.nanoTime();
+        for (int pass = 0; pass < BENCHMARK_PASSES; pass++)
+            lookUpDay();
+        long lookupNanos = System.nanoTime() - startNanos;
+
+        int labels = BENCHMARK_PASSES * TimeLabelFormatter.MINUTES_PER_DAY;
+
+        Log.i(TAG, "SimpleDateFormat: " + formatNanos / labels + " ns/label, table: "
+                + lookupNanos / labels + " ns/label");
+
+        assertTrue("Table lookup (" + lookupNanos + " ns) was not faster than "
+                + "SimpleDateFormat (" + formatNanos + " ns)", lookupNanos < formatNanos);
+    }
+
+    private static void formatDay(DateFormat format, Date date)
+    {
+        for (int minuteOfDay = 0; minuteOfDay < TimeLabelFormatter.MINUTES_PER_DAY; minuteOfDay++)
+        {
+            date.setTime(minuteOfDay * 60 * 1000L);
+            assertNotNull(format.format(date));
+        }
+    }
+
+    private void lookUpDay()
+    {
+        for (int hour = 0; hour < 24; hour++)
+        {
+            for (int minute = 0; minute < 60; minute++)
+                assertNotNull(mFormatter.format(hour, minute));
+        }
+    }
+}
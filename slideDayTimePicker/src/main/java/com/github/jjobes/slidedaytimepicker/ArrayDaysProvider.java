@@ -0,0 +1,38 @@
+package com.github.jjobes.slidedaytimepicker;
+
+/**
+ * A {@link DaysProvider} backed by an array of labels, used for the
+ * built-in days of the week and for a custom days array.
+ *
+ * @author jjobes
+ *
+ */
+final class ArrayDaysProvider implements DaysProvider
+{
+    private final String[] mLabels;
+
+    ArrayDaysProvider(String[] labels)
+    {
+        mLabels = labels;
+    }
+
+    @Override
+    public int getCount()
+    {
+        return mLabels.length;
+    }
+
+    @Override
+    public String getLabel(int index)
+    {
+        return mLabels[index];
+    }
+
+    /**
+     * @return the labels themselves, e.g. for {@code NumberPicker.setDisplayedValues()}
+     */
+    String[] getLabels()
+    {
+        return mLabels;
+    }
+}
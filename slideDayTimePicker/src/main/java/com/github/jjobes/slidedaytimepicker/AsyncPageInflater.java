@@ -0,0 +1,133 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+/**
+ * <p>Inflates the day and time pages on a worker thread while the dialog
+ * window animates in.</p>
+ *
+ * <p>{@link #inflate(LayoutInflater, int, OnInflateFinishedListener)}
+ * immediately returns an empty placeholder that has roughly the height of
+ * a picker page, so the dialog can be laid out and shown straight away.
+ * Once the page has been inflated it is added to the placeholder on the
+ * main thread and the listener is told about it.</p>
+ *
+ * <p>The worker thread deliberately has no {@code Looper}. A view that
+ * needs one in its constructor therefore fails to inflate there instead
+ * of being bound to the wrong thread, and the page is then inflated on
+ * the main thread instead.</p>
+ *
+ * @author jjobes
+ *
+ */
+final class AsyncPageInflater
+{
+    private static final String TAG = "AsyncPageInflater";
+
+    /**
+     * Told on the main thread once the page has been inflated and
+     * added to its placeholder.
+     */
+    interface OnInflateFinishedListener
+    {
+        void onInflateFinished(View view);
+    }
+
+    private static ExecutorService sExecutor;
+    private static Handler sMainHandler;
+
+    private AsyncPageInflater()
+    {
+        // Not instantiable
+    }
+
+    private static synchronized ExecutorService getExecutor()
+    {
+        if (sExecutor == null)
+        {
+            sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable r)
+                {
+                    Thread thread = new Thread(r, "SlideDayTimePicker-inflate");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+            sMainHandler = new Handler(Looper.getMainLooper());
+        }
+
+        return sExecutor;
+    }
+
+    /**
+     * Start inflating {@code layoutResId} on the worker thread and return
+     * the placeholder that it will be added to.
+     *
+     * @param inflater  an inflater for this page only. It is used on the
+     *                  worker thread, so it must not be shared.
+     * @param layoutResId
+     * @param listener
+     * @return the placeholder to return from {@code onCreateView()}
+     */
+    static ViewGroup inflate(final LayoutInflater inflater, final int layoutResId,
+            final OnInflateFinishedListener listener)
+    {
+        Context context = inflater.getContext();
+
+        final FrameLayout placeholder = new FrameLayout(context);
+        placeholder.setMinimumHeight(context.getResources().getDimensionPixelSize(
+                R.dimen.page_placeholder_height));
+
+        getExecutor().execute(new Runnable() {
+
+            @Override
+            public void run()
+            {
+                View view = null;
+
+                try
+                {
+                    view = inflater.inflate(layoutResId, placeholder, false);
+                }
+                catch (RuntimeException e)
+                {
+                    Log.w(TAG, "Failed to inflate page off the main thread; " +
+                            "inflating it on the main thread instead", e);
+                }
+
+                final View inflatedView = view;
+
+                sMainHandler.post(new Runnable() {
+
+                    @Override
+                    public void run()
+                    {
+                        View pageView = inflatedView != null ? inflatedView :
+                                inflater.inflate(layoutResId, placeholder, false);
+
+                        placeholder.setMinimumHeight(0);
+                        placeholder.addView(pageView);
+
+                        listener.onInflateFinished(pageView);
+                    }
+                });
+            }
+        });
+
+        return placeholder;
+    }
+}
@@ -1,10 +1,7 @@
 package com.github.jjobes.slidedaytimepicker;
 
-import java.lang.reflect.Field;
-
 import android.content.Context;
 import android.util.AttributeSet;
-import android.util.Log;
 import android.widget.NumberPicker;
 
 /**
@@ -17,37 +14,17 @@ import android.widget.NumberPicker;
  */
 public class CustomNumberPicker extends NumberPicker
 {
-    private static final String TAG = "CustomNumberPicker";
-
     public CustomNumberPicker(Context context, AttributeSet attrs)
     {
         super(context, attrs);
 
-        Class<?> numberPickerClass = null;
-        Field selectionDividerField = null;
-
-        try
-        {
-            // Create an instance of the NumberPicker class
-            numberPickerClass = Class.forName("android.widget.NumberPicker");
-
-            // Set the value of the mSelectionDivider field in this NumberPicker
-            // to refer to our custom drawable
-            selectionDividerField = numberPickerClass.getDeclaredField("mSelectionDivider");
-            selectionDividerField.setAccessible(true);
-            selectionDividerField.set(this, getResources().getDrawable(R.drawable.selection_divider));
-        }
-        catch (ClassNotFoundException e)
-        {
-            Log.e(TAG, "ClassNotFoundException in CustomNumberPicker", e);
-        }
-        catch (NoSuchFieldException e)
-        {
-            Log.e(TAG, "NoSuchFieldException in CustomNumberPicker", e);
-        }
-        catch (IllegalAccessException e)
+        // Set the value of the mSelectionDivider field in this NumberPicker
+        // to refer to our custom drawable. The reflective lookup is shared
+        // by every picker and only done once per process.
+        if (NumberPickerReflection.isSelectionDividerSupported())
         {
-            Log.e(TAG, "IllegalAccessException in CustomNumberPicker", e);
+            NumberPickerReflection.setSelectionDivider(this,
+                    SelectionDividerProvider.getDrawable(getResources()));
         }
     }
 }
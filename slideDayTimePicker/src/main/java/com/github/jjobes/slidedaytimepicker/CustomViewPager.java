@@ -5,9 +5,7 @@ import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewConfiguration;
-import android.widget.NumberPicker;
-import android.widget.TimePicker;
+import android.view.ViewGroup;
 
 /**
  * A custom {@link android.support.v4.view.ViewPager} implementation that corrects
@@ -19,10 +17,31 @@ import android.widget.TimePicker;
  */
 public class CustomViewPager extends ViewPager
 {
-    private NumberPicker mDayPicker;
-    private TimePicker mTimePicker;
-    private float x1, y1, x2, y2;
-    private float mTouchSlop;
+    // Which of the ViewPager and the current picker the gesture
+    // in progress has been given to.
+    private static final int CONSUMER_NONE = 0;
+    private static final int CONSUMER_PAGER = 1;
+    private static final int CONSUMER_PICKER = 2;
+
+    // Either the platform pickers or the lightweight WheelViews,
+    // depending on which layouts the pages were inflated from.
+    // Looked up lazily and cleared whenever a page is added or removed.
+    private View mDayPicker;
+    private View mTimePicker;
+    private GestureArbiter mGestureArbiter;
+
+    private int mGestureConsumer;
+    private View mGesturePicker;
+
+    // The page that was last measured for the pager's height, the specs it
+    // was measured with and the height it came out at.
+    private View mMeasuredPage;
+    private int mPageWidthMeasureSpec;
+    private int mPageHeightMeasureSpec;
+    private int mPageHeight;
+
+    private int mMeasureCount;
+    private int mPageMeasureCount;
 
     public CustomViewPager(Context context)
     {
@@ -40,119 +59,221 @@ public class CustomViewPager extends ViewPager
 
     private void init(Context context)
     {
-        mTouchSlop = ViewConfiguration.get(context).getScaledPagingTouchSlop();
+        mGestureArbiter = new GestureArbiter(context);
+
+        setOnHierarchyChangeListener(new OnHierarchyChangeListener() {
+
+            @Override
+            public void onChildViewAdded(View parent, View child)
+            {
+                clearPageReferences();
+            }
+
+            @Override
+            public void onChildViewRemoved(View parent, View child)
+            {
+                clearPageReferences();
+            }
+        });
+    }
+
+    private void clearPageReferences()
+    {
+        mDayPicker = null;
+        mTimePicker = null;
+        mMeasuredPage = null;
+    }
+
+    /**
+     * Return the day picker, looking it up if a page has been added or
+     * removed since it was last looked up. A page that is inflated
+     * asynchronously has no picker until it is ready, so it is looked
+     * up again until it is found.
+     */
+    private View getDayPicker()
+    {
+        if (mDayPicker == null)
+            mDayPicker = findViewById(R.id.dayPicker);
+
+        return mDayPicker;
+    }
+
+    /**
+     * @see #getDayPicker()
+     */
+    private View getTimePicker()
+    {
+        if (mTimePicker == null)
+            mTimePicker = findViewById(R.id.timePicker);
+
+        return mTimePicker;
     }
 
     /**
-     * Setting wrap_content on a ViewPager's layout_height in XML
+     * <p>Setting wrap_content on a ViewPager's layout_height in XML
      * doesn't seem to be recognized and the ViewPager will fill the
      * height of the screen regardless. We'll force the ViewPager to
-     * have the same height as its immediate child.
+     * have the same height as its immediate child.</p>
+     *
+     * <p>The child is only measured for this if its content has changed
+     * or the pager is measured with different specs, so a change
+     * elsewhere in the dialog, such as the tab text, does not re-measure
+     * the pickers at their wrapped height. The ViewPager itself is then
+     * always measured at exactly that height, so that it measures its
+     * pages at the height they are laid out at.</p>
      */
     @Override
     public void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
     {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        mMeasureCount++;
+
+        View childView = getChildCount() > 0 ? getChildAt(0) : null;
 
-        if (getChildCount() > 0)
+        if (childView == null)
         {
-            View childView = getChildAt(0);
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
 
-            if (childView != null)
-            {
-                childView.measure(widthMeasureSpec, heightMeasureSpec);
-                int h = childView.getMeasuredHeight();
-                setMeasuredDimension(getMeasuredWidth(), h);
-                getLayoutParams().height = h;
-            }
+        if (childView != mMeasuredPage ||
+            childView.isLayoutRequested() ||
+            widthMeasureSpec != mPageWidthMeasureSpec ||
+            heightMeasureSpec != mPageHeightMeasureSpec)
+        {
+            childView.measure(widthMeasureSpec, heightMeasureSpec);
+            mPageMeasureCount++;
+
+            mMeasuredPage = childView;
+            mPageWidthMeasureSpec = widthMeasureSpec;
+            mPageHeightMeasureSpec = heightMeasureSpec;
+            mPageHeight = childView.getMeasuredHeight();
         }
 
-        mDayPicker = (NumberPicker) findViewById(R.id.dayPicker);
-        mTimePicker = (TimePicker) findViewById(R.id.timePicker);
+        super.onMeasure(widthMeasureSpec,
+                MeasureSpec.makeMeasureSpec(mPageHeight, MeasureSpec.EXACTLY));
+
+        ViewGroup.LayoutParams params = getLayoutParams();
+
+        if (params.height != mPageHeight)
+            params.height = mPageHeight;
     }
 
     /**
-     * When the user swipes their finger horizontally, dispatch
+     * @return the number of times this pager has been measured
+     */
+    int getMeasureCount()
+    {
+        return mMeasureCount;
+    }
+
+    /**
+     * @return the number of times a page has been measured again to find
+     *         the pager's height
+     */
+    int getPageMeasureCount()
+    {
+        return mPageMeasureCount;
+    }
+
+    /**
+     * <p>When the user swipes their finger horizontally, dispatch
      * those touch events to the ViewPager. When they swipe
      * vertically, dispatch those touch events to the day or
-     * time picker (depending on which page we're currently on).
+     * time picker (depending on which page we're currently on).</p>
+     *
+     * <p>Both of them see the <tt>ACTION_DOWN</tt>. Once the
+     * {@link GestureArbiter} has decided the direction of the gesture, the
+     * rest of it goes to that one alone and the other is sent an
+     * <tt>ACTION_CANCEL</tt>. A gesture that ends before it is decided is
+     * a tap, which goes to the picker.</p>
      *
      * @param event
      */
     @Override
     public boolean dispatchTouchEvent(MotionEvent event)
     {
-        switch (event.getAction())
-        {
-            case MotionEvent.ACTION_DOWN:
-                x1 = event.getX();
-                y1 = event.getY();
+        int action = event.getActionMasked();
+        int direction = mGestureArbiter.onTouchEvent(event);
 
-                break;
-
-           case MotionEvent.ACTION_MOVE:
-               x2 = event.getX();
-               y2 = event.getY();
+        if (action == MotionEvent.ACTION_DOWN)
+        {
+            mGestureConsumer = CONSUMER_NONE;
+            mGesturePicker = getCurrentItem() == 0 ? getDayPicker() : getTimePicker();
 
-               if (isScrollingHorizontal(x1, y1, x2, y2))
-               {
-                   // When the user is scrolling the ViewPager horizontally,
-                   // block the pickers from scrolling vertically.
-                   return super.dispatchTouchEvent(event);
-               }
+            if (mGesturePicker != null)
+                mGesturePicker.dispatchTouchEvent(event);
 
-               break;
-         }
+            // need this for the ViewPager to scroll horizontally at all
+            super.onTouchEvent(event);
 
-        // As long as the ViewPager isn't scrolling horizontally,
-        // dispatch the event to the NumberPicker or TimePicker,
-        // depending on which page the ViewPager is currently on.
+            return true;
+        }
 
-         switch (getCurrentItem())
-         {
-         case 0:
+        if (mGestureConsumer == CONSUMER_NONE)
+        {
+            if (direction == GestureArbiter.DIRECTION_HORIZONTAL)
+            {
+                // When the user is scrolling the ViewPager horizontally,
+                // block the pickers from scrolling vertically.
+                mGestureConsumer = CONSUMER_PAGER;
+                dispatchCancel(event, mGesturePicker);
+            }
+            else if (direction == GestureArbiter.DIRECTION_VERTICAL)
+            {
+                mGestureConsumer = CONSUMER_PICKER;
+                dispatchCancel(event, null);
+            }
+        }
 
-             if (mDayPicker != null)
-                 mDayPicker.dispatchTouchEvent(event);
+        boolean isGestureEnd = action == MotionEvent.ACTION_UP ||
+                               action == MotionEvent.ACTION_CANCEL;
 
-             break;
+        switch (mGestureConsumer)
+        {
+        case CONSUMER_PAGER:
+            super.onTouchEvent(event);
+            break;
 
-         case 1:
+        case CONSUMER_PICKER:
+            if (mGesturePicker != null)
+                mGesturePicker.dispatchTouchEvent(event);
+            break;
 
-             if (mTimePicker != null)
-                 mTimePicker.dispatchTouchEvent(event);
+        default:
+            // Until the direction is known, neither of them is sent the
+            // moves. If the gesture ends first, it was a tap on the picker.
+            if (isGestureEnd)
+            {
+                if (mGesturePicker != null)
+                    mGesturePicker.dispatchTouchEvent(event);
 
-             break;
-         }
+                dispatchCancel(event, null);
+            }
+        }
 
-         // need this for the ViewPager to scroll horizontally at all
-         return super.onTouchEvent(event);
+        if (isGestureEnd)
+        {
+            mGestureArbiter.reset();
+            mGesturePicker = null;
+        }
 
+        return true;
     }
 
     /**
-     * Determine whether the distance between the user's ACTION_DOWN
-     * event (x1, y1) and the current ACTION_MOVE event (x2, y2) should
-     * be interpreted as a horizontal swipe.
-     *
-     * @param x1
-     * @param y1
-     * @param x2
-     * @param y2
-     * @return
+     * Send an <tt>ACTION_CANCEL</tt> at the position of {@code event} to
+     * {@code picker}, or to the ViewPager itself if {@code picker} is null.
      */
-    private boolean isScrollingHorizontal(float x1, float y1, float x2, float y2)
+    private void dispatchCancel(MotionEvent event, View picker)
     {
-        float deltaX = x2 - x1;
-        float deltaY = y2 - y1;
+        MotionEvent cancel = MotionEvent.obtain(event);
+        cancel.setAction(MotionEvent.ACTION_CANCEL);
 
-        if (Math.abs(deltaX) > mTouchSlop &&
-            Math.abs(deltaX) > Math.abs(deltaY))
-        {
-
-            return true;
-        }
+        if (picker != null)
+            picker.dispatchTouchEvent(cancel);
+        else
+            super.onTouchEvent(cancel);
 
-        return false;
+        cancel.recycle();
     }
 }
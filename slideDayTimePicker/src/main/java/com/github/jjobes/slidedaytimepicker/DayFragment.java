@@ -1,19 +1,15 @@
 package com.github.jjobes.slidedaytimepicker;
 
-import android.content.Context;
 import android.os.Bundle;
 import android.support.v4.app.Fragment;
-import android.view.ContextThemeWrapper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.EditText;
-import android.widget.NumberPicker;
-import android.widget.NumberPicker.OnValueChangeListener;
 
 /**
  * The fragment for the first page in the ViewPager that holds
- * the {@link CustomNumberPicker} for displaying the days.
+ * the {@link CustomNumberPicker} for displaying the days. The page
+ * itself is built by {@link DayPage}.
  *
  * @author jjobes
  *
@@ -59,26 +55,18 @@ public class DayFragment extends Fragment
 
     /**
      * Return an instance of DayFragment with its bundle filled with the
-     * constructor arguments. The values in the bundle are retrieved in
+     * dialog's configuration. The values in the bundle are retrieved in
      * {@link #onCreateView()} below to properly initialize the DatePicker.
      *
-     * @param theme
-     * @param initialDay
-     * @param isCustomDaysArraySpecified
-     * @param customDaysArray
+     * @param config  the dialog's configuration, with the day to show
      * @return an instance of DayFragment
      */
-    public static final DayFragment newInstance(
-            int theme, int initialDay, boolean isCustomDaysArraySpecified,
-            String[] customDaysArray)
+    public static final DayFragment newInstance(SlideDayTimeConfig config)
     {
         DayFragment f = new DayFragment();
 
         Bundle b = new Bundle();
-        b.putInt("theme", theme);
-        b.putInt("initialDay", initialDay);
-        b.putBoolean("isCustomDaysArraySpecified", isCustomDaysArraySpecified);
-        b.putStringArray("customDaysArray", customDaysArray);
+        b.putParcelable("config", config);
         f.setArguments(b);
 
         return f;
@@ -90,75 +78,47 @@ public class DayFragment extends Fragment
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState)
     {
-        int initialDay = getArguments().getInt("initialDay");
-        boolean isCustomDaysArraySpecified = getArguments().getBoolean("isCustomDaysArraySpecified");
+        SlideDayTimeConfig config = getArguments().getParcelable("config");
 
-        String[] daysArray;
-        if (isCustomDaysArraySpecified)
-        {
-            daysArray = getArguments().getStringArray("customDaysArray");
-        }
-        else
-        {
-            daysArray = getResources().getStringArray(R.array.days_array);
-        }
+        DaysProvider days = getDaysProvider();
 
-        // Unless we inflate using a cloned inflater with a Holo theme,
-        // on Lollipop devices the TimePicker will be the new-style
-        // radial TimePicker, which is not what we want. So we will
-        // clone the inflater that we're given but with our specified
-        // theme, then inflate the layout with this new inflater.
-        int theme = getArguments().getInt("theme");
-
-        Context contextThemeWrapper = new ContextThemeWrapper(
-                getActivity(),
-                theme == SlideDayTimePicker.HOLO_DARK ?
-                        android.R.style.Theme_Holo : android.R.style.Theme_Holo_Light);
-
-        LayoutInflater localInflater = inflater.cloneInContext(contextThemeWrapper);
-
-        View v = localInflater.inflate(R.layout.fragment_day, container, false);
-
-        CustomNumberPicker dayPicker = (CustomNumberPicker) v.findViewById(R.id.dayPicker);
-        // remove blinking cursor from NumberPicker
-        enableNumberPickerEditing(dayPicker, false);
-        // block keyboard popping up on touch
-        dayPicker.setDescendantFocusability(NumberPicker.FOCUS_BLOCK_DESCENDANTS);
-        dayPicker.setMinValue(0);
-        dayPicker.setMaxValue(daysArray.length - 1);
-        dayPicker.setDisplayedValues(daysArray);
-        dayPicker.setValue(initialDay);
-        dayPicker.setOnValueChangedListener(new OnValueChangeListener() {
-
-            @Override
-            public void onValueChange(NumberPicker picker, int oldVal, int newVal)
-            {
-                mCallback.onDayChanged(newVal);
-            }
-        });
-
-        return v;
+        // Inflate with the dialog's shared Holo-themed inflater.
+        LayoutInflater localInflater =
+                getThemedPageContext(inflater, config).getPageInflater(config.inflateAsync());
+
+        return new DayPage(mCallback).createView(localInflater, container, days,
+                config.getDayIndex(), config.useWheelViews(), config.inflateAsync());
     }
 
     /**
-     * Enable or disable NumberPicker editing. We use this to turn
-     * off editing and this has the effect of removing the blinking
-     * cursor that is shown by default.
+     * The labels come from the dialog, so that neither a custom days
+     * array nor a {@link DaysProvider} is copied into this fragment's bundle.
      */
-    private void enableNumberPickerEditing(NumberPicker numberPicker, boolean enable)
+    private DaysProvider getDaysProvider()
     {
-        int childCount = numberPicker.getChildCount();
+        DaysProvider days = null;
+
+        if (getTargetFragment() instanceof SlideDayTimeDialogFragment)
+            days = ((SlideDayTimeDialogFragment) getTargetFragment()).getDaysProvider();
 
-        for (int i = 0; i < childCount; i++)
+        if (days == null)
         {
-            View childView = numberPicker.getChildAt(i);
-
-            if (childView instanceof EditText)
-            {
-                EditText editText = (EditText) childView;
-                editText.setFocusable(enable);
-                return;
-            }
+            throw new IllegalStateException("DayFragment must be shown by a " +
+                    "SlideDayTimeDialogFragment whose view has been created");
         }
+
+        return days;
+    }
+
+    private ThemedPageContext getThemedPageContext(LayoutInflater inflater,
+            SlideDayTimeConfig config)
+    {
+        if (getTargetFragment() instanceof SlideDayTimeDialogFragment)
+        {
+            return ((SlideDayTimeDialogFragment) getTargetFragment())
+                    .getThemedPageContext(inflater);
+        }
+
+        return new ThemedPageContext(getActivity(), inflater, config.getTheme());
     }
 }
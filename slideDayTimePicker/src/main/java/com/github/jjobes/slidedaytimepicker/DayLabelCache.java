@@ -0,0 +1,52 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.util.Locale;
+
+import android.content.res.Configuration;
+import android.content.res.Resources;
+
+/**
+ * <p>A process-wide cache of the day names in {@code R.array.days_array}.</p>
+ *
+ * <p>The array is read from the resources the first time it is needed and
+ * then shared by {@link SlideDayTimeDialogFragment} (for the tab text) and
+ * {@link DayFragment} (for the day picker's displayed values). The cached
+ * array is dropped and read again as soon as it is requested with a
+ * configuration whose locale differs from the one it was read for, so a
+ * locale change is picked up without any explicit invalidation.</p>
+ *
+ * <p>The returned array is shared and must not be modified.</p>
+ *
+ * @author jjobes
+ *
+ */
+final class DayLabelCache
+{
+    private static String[] sDaysArray;
+    private static Locale sLocale;
+
+    private DayLabelCache()
+    {
+        // Not instantiable
+    }
+
+    /**
+     * Return the day names for the locale of the given {@code Resources}.
+     *
+     * @param res
+     * @return the shared, unmodifiable array of day names
+     */
+    static synchronized String[] getDaysArray(Resources res)
+    {
+        Configuration config = res.getConfiguration();
+        Locale locale = config.locale != null ? config.locale : Locale.getDefault();
+
+        if (sDaysArray == null || !locale.equals(sLocale))
+        {
+            sDaysArray = res.getStringArray(R.array.days_array);
+            sLocale = locale;
+        }
+
+        return sDaysArray;
+    }
+}
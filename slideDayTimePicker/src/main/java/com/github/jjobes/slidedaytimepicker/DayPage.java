@@ -0,0 +1,190 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.text.InputFilter;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.NumberPicker;
+import android.widget.NumberPicker.OnValueChangeListener;
+
+/**
+ * <p>Builds the day page: the {@link CustomNumberPicker} (or {@link WheelView})
+ * that displays the days.</p>
+ *
+ * <p>The labels come from a {@link DaysProvider}. Unless it is backed by an
+ * array, they are requested through a formatter as they scroll into view,
+ * so a long list of days is never copied into the picker.</p>
+ *
+ * <p>Used by {@link DayFragment}, and directly by
+ * {@link SlideDayTimeDialogFragment} when the pages are hosted as plain
+ * views rather than as child fragments.</p>
+ *
+ * @author jjobes
+ *
+ */
+class DayPage
+{
+    private final DayFragment.DayChangedListener mCallback;
+
+    DayPage(DayFragment.DayChangedListener callback)
+    {
+        mCallback = callback;
+    }
+
+    /**
+     * Inflate and initialize the page.
+     *
+     * @param inflater  an inflater wrapping one of the Holo themes
+     * @param container
+     * @param days  the labels of the days
+     * @param initialDay
+     * @param useWheelViews
+     * @param inflateAsync
+     * @return the page's view, or a placeholder for it if {@code inflateAsync} is set
+     */
+    View createView(LayoutInflater inflater, ViewGroup container, final DaysProvider days,
+            final int initialDay, final boolean useWheelViews, boolean inflateAsync)
+    {
+        int layoutResId = useWheelViews ? R.layout.fragment_day_wheel : R.layout.fragment_day;
+
+        // Inflate the page on a worker thread and show a placeholder
+        // until it is ready.
+        if (inflateAsync)
+        {
+            return AsyncPageInflater.inflate(inflater, layoutResId,
+                    new AsyncPageInflater.OnInflateFinishedListener() {
+
+                @Override
+                public void onInflateFinished(View view)
+                {
+                    initPage(view, days, initialDay, useWheelViews);
+                }
+            });
+        }
+
+        View v = inflater.inflate(layoutResId, container, false);
+
+        initPage(v, days, initialDay, useWheelViews);
+
+        return v;
+    }
+
+    private void initPage(View v, DaysProvider days, int initialDay, boolean useWheelViews)
+    {
+        if (useWheelViews)
+        {
+            initDayWheel((WheelView) v.findViewById(R.id.dayPicker), days, initialDay);
+            return;
+        }
+
+        CustomNumberPicker dayPicker = (CustomNumberPicker) v.findViewById(R.id.dayPicker);
+        // remove blinking cursor from NumberPicker
+        enableNumberPickerEditing(dayPicker, false);
+        // block keyboard popping up on touch
+        dayPicker.setDescendantFocusability(NumberPicker.FOCUS_BLOCK_DESCENDANTS);
+        dayPicker.setMinValue(0);
+        dayPicker.setMaxValue(days.getCount() - 1);
+
+        if (days instanceof ArrayDaysProvider)
+        {
+            dayPicker.setDisplayedValues(((ArrayDaysProvider) days).getLabels());
+        }
+        else
+        {
+            dayPicker.setFormatter(new DaysFormatter(days));
+            // Without this the formatter is not applied to the initial
+            // value until the picker is first scrolled.
+            clearNumberPickerInputFilters(dayPicker);
+        }
+
+        dayPicker.setValue(initialDay);
+        dayPicker.setOnValueChangedListener(new OnValueChangeListener() {
+
+            @Override
+            public void onValueChange(NumberPicker picker, int oldVal, int newVal)
+            {
+                mCallback.onDayChanged(newVal);
+            }
+        });
+    }
+
+    private void initDayWheel(WheelView dayWheel, DaysProvider days, int initialDay)
+    {
+        dayWheel.setMinValue(0);
+        dayWheel.setMaxValue(days.getCount() - 1);
+
+        if (days instanceof ArrayDaysProvider)
+            dayWheel.setDisplayedValues(((ArrayDaysProvider) days).getLabels());
+        else
+            dayWheel.setFormatter(new DaysFormatter(days));
+
+        dayWheel.setValue(initialDay);
+        dayWheel.setOnValueChangedListener(new WheelView.OnValueChangeListener() {
+
+            @Override
+            public void onValueChange(WheelView wheel, int oldVal, int newVal)
+            {
+                mCallback.onDayChanged(newVal);
+            }
+        });
+    }
+
+    /**
+     * Enable or disable NumberPicker editing. We use this to turn
+     * off editing and this has the effect of removing the blinking
+     * cursor that is shown by default.
+     */
+    private void enableNumberPickerEditing(NumberPicker numberPicker, boolean enable)
+    {
+        int childCount = numberPicker.getChildCount();
+
+        for (int i = 0; i < childCount; i++)
+        {
+            View childView = numberPicker.getChildAt(i);
+
+            if (childView instanceof EditText)
+            {
+                EditText editText = (EditText) childView;
+                editText.setFocusable(enable);
+                return;
+            }
+        }
+    }
+
+    private void clearNumberPickerInputFilters(NumberPicker numberPicker)
+    {
+        int childCount = numberPicker.getChildCount();
+
+        for (int i = 0; i < childCount; i++)
+        {
+            View childView = numberPicker.getChildAt(i);
+
+            if (childView instanceof EditText)
+            {
+                ((EditText) childView).setFilters(new InputFilter[0]);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Asks the {@link DaysProvider} for a label only when the picker
+     * shows it. Serves as the formatter of both kinds of picker.
+     */
+    private static class DaysFormatter implements NumberPicker.Formatter, WheelView.Formatter
+    {
+        private final DaysProvider mDays;
+
+        DaysFormatter(DaysProvider days)
+        {
+            mDays = days;
+        }
+
+        @Override
+        public String format(int value)
+        {
+            return mDays.getLabel(value);
+        }
+    }
+}
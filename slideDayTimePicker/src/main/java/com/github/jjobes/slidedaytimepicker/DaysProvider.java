@@ -0,0 +1,35 @@
+package com.github.jjobes.slidedaytimepicker;
+
+/**
+ * <p>Supplies the labels of the day picker on demand, as an alternative
+ * to {@link SlideDayTimePicker#setCustomDaysArray(String[])} for long
+ * lists such as the next 365 days. Only the labels that are shown are
+ * requested, and nothing is copied into the dialog's saved state.</p>
+ *
+ * <p>Like the listener, the provider is released when the activity is
+ * destroyed, so that it can't leak the activity. Implement this interface
+ * in the activity or the parent fragment that shows the picker, and the
+ * dialog asks it for the labels again after an orientation change or
+ * after the process has been restored. If the recreated host is not a
+ * {@code DaysProvider}, the dialog is closed as cancelled.</p>
+ *
+ * <p>As with a custom days array, the day passed to
+ * {@link SlideDayTimeListener#onDayTimeSet(int, int, int)} is the index
+ * of the selected label.</p>
+ *
+ * @author jjobes
+ *
+ */
+public interface DaysProvider
+{
+    /**
+     * @return the number of days to choose from
+     */
+    int getCount();
+
+    /**
+     * @param index  <tt>0</tt> to <tt>getCount() - 1</tt>
+     * @return the label of the day at {@code index}
+     */
+    String getLabel(int index);
+}
@@ -0,0 +1,143 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
+
+/**
+ * <p>Decides whether a touch gesture on the {@link CustomViewPager} is a
+ * horizontal swipe between the pages or a vertical scroll of the day or
+ * time picker.</p>
+ *
+ * <p>No decision is made until the gesture has moved further than the
+ * paging touch slop from where it went down. The direction is then taken
+ * from the gesture's velocity, or, if it is moving too slowly for that to
+ * be reliable, from how far it has travelled along each axis. Both are
+ * computed from every batched historical sample in the move events, not
+ * just from their latest positions, so a curved or jittery swipe is still
+ * classified by where it was mostly heading. Once made, the decision holds
+ * until the gesture ends.</p>
+ *
+ * @author jjobes
+ *
+ */
+final class GestureArbiter
+{
+    static final int DIRECTION_UNDECIDED = 0;
+    static final int DIRECTION_HORIZONTAL = 1;
+    static final int DIRECTION_VERTICAL = 2;
+
+    private final float mTouchSlopSquare;
+    private final float mMinimumVelocity;
+
+    private VelocityTracker mVelocityTracker;
+    private float mDownX;
+    private float mDownY;
+    private float mLastX;
+    private float mLastY;
+    private float mTravelX;
+    private float mTravelY;
+    private int mDirection;
+
+    GestureArbiter(Context context)
+    {
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        float touchSlop = configuration.getScaledPagingTouchSlop();
+
+        mTouchSlopSquare = touchSlop * touchSlop;
+        mMinimumVelocity = configuration.getScaledMinimumFlingVelocity();
+    }
+
+    /**
+     * Feed the next event of the gesture to the arbiter.
+     *
+     * @param event
+     * @return {@link #DIRECTION_HORIZONTAL} or {@link #DIRECTION_VERTICAL} once
+     *         the gesture's direction is known, otherwise {@link #DIRECTION_UNDECIDED}
+     */
+    int onTouchEvent(MotionEvent event)
+    {
+        switch (event.getActionMasked())
+        {
+        case MotionEvent.ACTION_DOWN:
+            reset();
+
+            mVelocityTracker = VelocityTracker.obtain();
+            mVelocityTracker.addMovement(event);
+
+            mDownX = mLastX = event.getX();
+            mDownY = mLastY = event.getY();
+
+            return mDirection;
+
+        case MotionEvent.ACTION_MOVE:
+            if (mVelocityTracker == null)
+                return mDirection;
+
+            mVelocityTracker.addMovement(event);
+
+            if (mDirection == DIRECTION_UNDECIDED)
+                mDirection = decide(event);
+
+            return mDirection;
+
+        default:
+            if (mVelocityTracker != null)
+                mVelocityTracker.addMovement(event);
+
+            return mDirection;
+        }
+    }
+
+    private int decide(MotionEvent event)
+    {
+        int historySize = event.getHistorySize();
+
+        for (int h = 0; h < historySize; h++)
+        {
+            addTravel(event.getHistoricalX(h), event.getHistoricalY(h));
+        }
+
+        addTravel(event.getX(), event.getY());
+
+        float deltaX = mLastX - mDownX;
+        float deltaY = mLastY - mDownY;
+
+        if (deltaX * deltaX + deltaY * deltaY <= mTouchSlopSquare)
+            return DIRECTION_UNDECIDED;
+
+        mVelocityTracker.computeCurrentVelocity(1000);
+        float velocityX = Math.abs(mVelocityTracker.getXVelocity());
+        float velocityY = Math.abs(mVelocityTracker.getYVelocity());
+
+        if (Math.max(velocityX, velocityY) >= mMinimumVelocity)
+            return velocityX > velocityY ? DIRECTION_HORIZONTAL : DIRECTION_VERTICAL;
+
+        return mTravelX > mTravelY ? DIRECTION_HORIZONTAL : DIRECTION_VERTICAL;
+    }
+
+    private void addTravel(float x, float y)
+    {
+        mTravelX += Math.abs(x - mLastX);
+        mTravelY += Math.abs(y - mLastY);
+        mLastX = x;
+        mLastY = y;
+    }
+
+    /**
+     * Forget the current gesture. Call once it has ended.
+     */
+    void reset()
+    {
+        if (mVelocityTracker != null)
+        {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+
+        mTravelX = 0;
+        mTravelY = 0;
+        mDirection = DIRECTION_UNDECIDED;
+    }
+}
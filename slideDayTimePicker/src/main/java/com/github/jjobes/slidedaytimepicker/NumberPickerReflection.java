@@ -0,0 +1,195 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.lang.reflect.Field;
+
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+import android.widget.NumberPicker;
+
+/**
+ * <p>Holds the reflective handles used by {@link CustomNumberPicker} and
+ * {@link CustomTimePicker} to replace the default blue dividers.</p>
+ *
+ * <p>Each handle is looked up once per process, the first time it is
+ * needed, using the lazy holder idiom so that the lookup is thread-safe
+ * without locking. If a lookup fails on this platform version the failure
+ * is logged once and remembered, and later callers are simply told that
+ * the handle is unsupported.</p>
+ *
+ * @author jjobes
+ *
+ */
+final class NumberPickerReflection
+{
+    private static final String TAG = "NumberPickerReflection";
+
+    private NumberPickerReflection()
+    {
+        // Not instantiable
+    }
+
+    /**
+     * The {@code mSelectionDivider} field of {@link NumberPicker},
+     * or {@code null} if it can't be accessed.
+     */
+    private static class SelectionDividerHolder
+    {
+        static final Field FIELD = lookupSelectionDividerField();
+    }
+
+    /**
+     * The resource IDs of the hour, minute and amPm {@code NumberPicker}s
+     * inside the platform {@code TimePicker}, or <tt>0</tt> if they can't
+     * be accessed.
+     */
+    private static class TimePickerIdsHolder
+    {
+        static final int HOUR_ID;
+        static final int MINUTE_ID;
+        static final int AM_PM_ID;
+
+        static
+        {
+            int hourId = 0;
+            int minuteId = 0;
+            int amPmId = 0;
+
+            try
+            {
+                Class<?> idClass = Class.forName("com.android.internal.R$id");
+
+                hourId = idClass.getField("hour").getInt(null);
+                minuteId = idClass.getField("minute").getInt(null);
+                amPmId = idClass.getField("amPm").getInt(null);
+            }
+            catch (ClassNotFoundException e)
+            {
+                Log.e(TAG, "ClassNotFoundException looking up TimePicker ids", e);
+            }
+            catch (NoSuchFieldException e)
+            {
+                Log.e(TAG, "NoSuchFieldException looking up TimePicker ids", e);
+            }
+            catch (IllegalAccessException e)
+            {
+                Log.e(TAG, "IllegalAccessException looking up TimePicker ids", e);
+            }
+            catch (IllegalArgumentException e)
+            {
+                Log.e(TAG, "IllegalArgumentException looking up TimePicker ids", e);
+            }
+
+            if (hourId == 0 || minuteId == 0 || amPmId == 0)
+            {
+                hourId = 0;
+                minuteId = 0;
+                amPmId = 0;
+            }
+
+            HOUR_ID = hourId;
+            MINUTE_ID = minuteId;
+            AM_PM_ID = amPmId;
+        }
+    }
+
+    private static Field lookupSelectionDividerField()
+    {
+        try
+        {
+            Class<?> numberPickerClass = Class.forName("android.widget.NumberPicker");
+
+            Field selectionDividerField = numberPickerClass.getDeclaredField("mSelectionDivider");
+            selectionDividerField.setAccessible(true);
+
+            return selectionDividerField;
+        }
+        catch (ClassNotFoundException e)
+        {
+            Log.e(TAG, "ClassNotFoundException looking up mSelectionDivider", e);
+        }
+        catch (NoSuchFieldException e)
+        {
+            Log.e(TAG, "NoSuchFieldException looking up mSelectionDivider", e);
+        }
+        catch (SecurityException e)
+        {
+            Log.e(TAG, "SecurityException looking up mSelectionDivider", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Force the lookup of every reflective handle. Safe to call from
+     * any thread.
+     */
+    static void preload()
+    {
+        isSelectionDividerSupported();
+        isTimePickerSupported();
+    }
+
+    /**
+     * @return <tt>true</tt> if {@link #setSelectionDivider(NumberPicker, Drawable)}
+     *         can replace the divider on this platform
+     */
+    static boolean isSelectionDividerSupported()
+    {
+        return SelectionDividerHolder.FIELD != null;
+    }
+
+    /**
+     * Replace the selection divider of the given {@code NumberPicker}.
+     *
+     * @param picker
+     * @param divider
+     * @return <tt>true</tt> if the divider was replaced
+     */
+    static boolean setSelectionDivider(NumberPicker picker, Drawable divider)
+    {
+        Field selectionDividerField = SelectionDividerHolder.FIELD;
+
+        if (selectionDividerField == null || picker == null)
+            return false;
+
+        try
+        {
+            selectionDividerField.set(picker, divider);
+            return true;
+        }
+        catch (IllegalAccessException e)
+        {
+            Log.e(TAG, "IllegalAccessException setting mSelectionDivider", e);
+        }
+        catch (IllegalArgumentException e)
+        {
+            Log.e(TAG, "IllegalArgumentException setting mSelectionDivider", e);
+        }
+
+        return false;
+    }
+
+    /**
+     * @return <tt>true</tt> if the IDs of the {@code NumberPicker}s inside
+     *         the platform {@code TimePicker} could be looked up
+     */
+    static boolean isTimePickerSupported()
+    {
+        return TimePickerIdsHolder.HOUR_ID != 0;
+    }
+
+    static int getHourPickerId()
+    {
+        return TimePickerIdsHolder.HOUR_ID;
+    }
+
+    static int getMinutePickerId()
+    {
+        return TimePickerIdsHolder.MINUTE_ID;
+    }
+
+    static int getAmPmPickerId()
+    {
+        return TimePickerIdsHolder.AM_PM_ID;
+    }
+}
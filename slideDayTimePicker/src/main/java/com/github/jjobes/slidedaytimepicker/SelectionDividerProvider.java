@@ -0,0 +1,59 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+
+/**
+ * <p>Supplies the {@code selection_divider} drawable to every picker wheel.</p>
+ *
+ * <p>The drawable is only loaded from resources the first time it is
+ * requested (and again if the screen density changes). Every later request
+ * gets a new {@code Drawable} created from the first one's shared
+ * {@link Drawable.ConstantState}, so the nine-patch is not decoded again
+ * for each wheel.</p>
+ *
+ * @author jjobes
+ *
+ */
+final class SelectionDividerProvider
+{
+    private static Drawable.ConstantState sConstantState;
+    private static int sDensityDpi;
+    private static int sLoadCount;
+
+    private SelectionDividerProvider()
+    {
+        // Not instantiable
+    }
+
+    /**
+     * Return a new selection divider drawable for one picker wheel.
+     *
+     * @param res
+     * @return a {@code Drawable} that is not shared with any other wheel
+     */
+    static synchronized Drawable getDrawable(Resources res)
+    {
+        int densityDpi = res.getDisplayMetrics().densityDpi;
+
+        if (sConstantState != null && sDensityDpi == densityDpi)
+            return sConstantState.newDrawable(res);
+
+        Drawable divider = res.getDrawable(R.drawable.selection_divider);
+        sLoadCount++;
+
+        sConstantState = divider.getConstantState();
+        sDensityDpi = densityDpi;
+
+        return divider;
+    }
+
+    /**
+     * @return the number of times the divider has been loaded from
+     *         resources in this process
+     */
+    static synchronized int getLoadCount()
+    {
+        return sLoadCount;
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * <p>The immutable configuration of a picker dialog, shared by
+ * {@link SlideDayTimeDialogFragment}, {@link DayFragment} and
+ * {@link TimeFragment} as their only fragment argument.</p>
+ *
+ * <p>The fields are packed so that the parcel has a small, fixed size
+ * apart from the custom days array, which only the dialog's own copy
+ * carries: the day, hour and minute share one
+ * <tt>int</tt>, and the theme and the boolean options share another.
+ * Without a custom days array the parcel is 24 bytes.</p>
+ *
+ * <p>Created by {@link SlideDayTimePicker#show()}.</p>
+ *
+ * @author jjobes
+ *
+ */
+public final class SlideDayTimeConfig implements Parcelable
+{
+    // mDayTime holds the day in the high bits, then 5 bits of hour
+    // and 6 bits of minute.
+    private static final int MINUTE_BITS = 6;
+    private static final int HOUR_BITS = 5;
+    private static final int MINUTE_MASK = (1 << MINUTE_BITS) - 1;
+    private static final int HOUR_MASK = (1 << HOUR_BITS) - 1;
+    private static final int HOUR_SHIFT = MINUTE_BITS;
+    private static final int DAY_SHIFT = MINUTE_BITS + HOUR_BITS;
+
+    // mFlags holds the boolean options in the low byte and the theme above them.
+    private static final int FLAG_CUSTOM_DAYS_ARRAY = 1;
+    private static final int FLAG_CLIENT_SPECIFIED_24_HOUR_TIME = 1 << 1;
+    private static final int FLAG_24_HOUR_TIME = 1 << 2;
+    private static final int FLAG_USE_WHEEL_VIEWS = 1 << 3;
+    private static final int FLAG_INFLATE_ASYNC = 1 << 4;
+    private static final int FLAG_USE_VIEW_PAGES = 1 << 5;
+    private static final int FLAG_DAYS_PROVIDER = 1 << 6;
+    // Set if mCustomDaysArray is present, so that it is only parcelled then.
+    private static final int FLAG_HAS_DAYS_ARRAY = 1 << 7;
+    private static final int THEME_SHIFT = 8;
+
+    private final int mDayTime;
+    private final int mFlags;
+    private final int mIndicatorColor;
+    private final int mRequestCode;
+    private final long mChangingIntervalMillis;
+    private final String[] mCustomDaysArray;
+
+    SlideDayTimeConfig(boolean isCustomDaysArraySpecified, String[] customDaysArray,
+            boolean isDaysProviderSpecified, int day, int hour, int minute,
+            boolean isClientSpecified24HourTime, boolean is24HourTime, int theme,
+            int indicatorColor, boolean useWheelViews, boolean inflateAsync,
+            boolean useViewPages, int requestCode, long changingIntervalMillis)
+    {
+        int flags = theme << THEME_SHIFT;
+
+        if (isCustomDaysArraySpecified)
+            flags |= FLAG_CUSTOM_DAYS_ARRAY;
+        if (isDaysProviderSpecified)
+            flags |= FLAG_DAYS_PROVIDER;
+        if (isClientSpecified24HourTime)
+            flags |= FLAG_CLIENT_SPECIFIED_24_HOUR_TIME;
+        if (is24HourTime)
+            flags |= FLAG_24_HOUR_TIME;
+        if (useWheelViews)
+            flags |= FLAG_USE_WHEEL_VIEWS;
+        if (inflateAsync)
+            flags |= FLAG_INFLATE_ASYNC;
+        if (useViewPages)
+            flags |= FLAG_USE_VIEW_PAGES;
+        if (customDaysArray != null)
+            flags |= FLAG_HAS_DAYS_ARRAY;
+
+        mDayTime = packDayTime(day, hour, minute);
+        mFlags = flags;
+        mIndicatorColor = indicatorColor;
+        mRequestCode = requestCode;
+        mChangingIntervalMillis = changingIntervalMillis;
+        mCustomDaysArray = customDaysArray;
+    }
+
+    private SlideDayTimeConfig(SlideDayTimeConfig config, int dayTime, String[] customDaysArray)
+    {
+        mDayTime = dayTime;
+        mFlags = customDaysArray != null ? config.mFlags | FLAG_HAS_DAYS_ARRAY :
+                config.mFlags & ~FLAG_HAS_DAYS_ARRAY;
+        mIndicatorColor = config.mIndicatorColor;
+        mRequestCode = config.mRequestCode;
+        mChangingIntervalMillis = config.mChangingIntervalMillis;
+        mCustomDaysArray = customDaysArray;
+    }
+
+    private SlideDayTimeConfig(Parcel in)
+    {
+        mDayTime = in.readInt();
+        mFlags = in.readInt();
+        mIndicatorColor = in.readInt();
+        mRequestCode = in.readInt();
+        mChangingIntervalMillis = in.readLong();
+        mCustomDaysArray = (mFlags & FLAG_HAS_DAYS_ARRAY) != 0 ? in.createStringArray() : null;
+    }
+
+    private static int packDayTime(int day, int hour, int minute)
+    {
+        if (day < 0 || day > (Integer.MAX_VALUE >> DAY_SHIFT))
+            throw new IllegalArgumentException("day out of range: " + day);
+
+        if (hour < 0 || hour > 23)
+            throw new IllegalArgumentException("hour out of range: " + hour);
+
+        if (minute < 0 || minute > 59)
+            throw new IllegalArgumentException("minute out of range: " + minute);
+
+        return (day << DAY_SHIFT) | (hour << HOUR_SHIFT) | minute;
+    }
+
+    /**
+     * Return a copy of this configuration for a page, with the day and
+     * time currently selected in the dialog. The copy leaves out the
+     * custom days array, since the pages get their labels from the
+     * dialog's {@link DaysProvider}.
+     *
+     * @param day  the day as passed to {@link SlideDayTimePicker#setInitialDay(int)}
+     * @param hour
+     * @param minute
+     * @return the new configuration
+     */
+    SlideDayTimeConfig forPage(int day, int hour, int minute)
+    {
+        return new SlideDayTimeConfig(this, packDayTime(day, hour, minute), null);
+    }
+
+    /**
+     * @return the day as passed to {@link SlideDayTimePicker#setInitialDay(int)}
+     */
+    int getDay()
+    {
+        return mDayTime >>> DAY_SHIFT;
+    }
+
+    /**
+     * @return the index of the day in the days array. The built-in days are
+     *         {@code java.util.Calendar} days of the week, counted from 1.
+     */
+    int getDayIndex()
+    {
+        return hasCustomDays() ? getDay() : getDay() - 1;
+    }
+
+    int getHour()
+    {
+        return (mDayTime >> HOUR_SHIFT) & HOUR_MASK;
+    }
+
+    int getMinute()
+    {
+        return mDayTime & MINUTE_MASK;
+    }
+
+    boolean isCustomDaysArraySpecified()
+    {
+        return (mFlags & FLAG_CUSTOM_DAYS_ARRAY) != 0;
+    }
+
+    String[] getCustomDaysArray()
+    {
+        return mCustomDaysArray;
+    }
+
+    boolean isDaysProviderSpecified()
+    {
+        return (mFlags & FLAG_DAYS_PROVIDER) != 0;
+    }
+
+    /**
+     * @return <tt>true</tt> if the days are a custom days array or come from a
+     *         {@link DaysProvider}, in which case the day is a raw index
+     */
+    boolean hasCustomDays()
+    {
+        return (mFlags & (FLAG_CUSTOM_DAYS_ARRAY | FLAG_DAYS_PROVIDER)) != 0;
+    }
+
+    boolean isClientSpecified24HourTime()
+    {
+        return (mFlags & FLAG_CLIENT_SPECIFIED_24_HOUR_TIME) != 0;
+    }
+
+    boolean is24HourTime()
+    {
+        return (mFlags & FLAG_24_HOUR_TIME) != 0;
+    }
+
+    int getTheme()
+    {
+        return mFlags >>> THEME_SHIFT;
+    }
+
+    int getIndicatorColor()
+    {
+        return mIndicatorColor;
+    }
+
+    boolean useWheelViews()
+    {
+        return (mFlags & FLAG_USE_WHEEL_VIEWS) != 0;
+    }
+
+    boolean inflateAsync()
+    {
+        return (mFlags & FLAG_INFLATE_ASYNC) != 0;
+    }
+
+    boolean useViewPages()
+    {
+        return (mFlags & FLAG_USE_VIEW_PAGES) != 0;
+    }
+
+    int getRequestCode()
+    {
+        return mRequestCode;
+    }
+
+    long getChangingIntervalMillis()
+    {
+        return mChangingIntervalMillis;
+    }
+
+    @Override
+    public int describeContents()
+    {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags)
+    {
+        dest.writeInt(mDayTime);
+        dest.writeInt(mFlags);
+        dest.writeInt(mIndicatorColor);
+        dest.writeInt(mRequestCode);
+        dest.writeLong(mChangingIntervalMillis);
+        if (mCustomDaysArray != null)
+            dest.writeStringArray(mCustomDaysArray);
+    }
+
+    public static final Parcelable.Creator<SlideDayTimeConfig> CREATOR =
+            new Parcelable.Creator<SlideDayTimeConfig>() {
+
+        @Override
+        public SlideDayTimeConfig createFromParcel(Parcel in)
+        {
+            return new SlideDayTimeConfig(in);
+        }
+
+        @Override
+        public SlideDayTimeConfig[] newArray(int size)
+        {
+            return new SlideDayTimeConfig[size];
+        }
+    };
+}
@@ -1,18 +1,20 @@
 package com.github.jjobes.slidedaytimepicker;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.Arrays;
 
-import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.support.v4.app.DialogFragment;
 import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentPagerAdapter;
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewCompat;
 import android.text.format.DateFormat;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -23,7 +25,9 @@ import android.widget.Button;
  * <p>The {@code DialogFragment} that contains the {@link SlidingTabLayout} and
  * {@link CustomViewPager}.</p>
  *
- * <p>The {@code CustomViewPager} contains the {@link DayFragment} and {@link TimeFragment}.</p>
+ * <p>The {@code CustomViewPager} contains the {@link DayFragment} and {@link TimeFragment},
+ * or, if the pages are hosted as plain views, the views built by {@link DayPage}
+ * and {@link TimePage}.</p>
  *
  * <p>This {@code DialogFragment} is managed by {@link SlideDayTimePicker}.</p>
  *
@@ -35,19 +39,32 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
 {
     public static final String TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT = "tagSlideDayTimeDialogFragment";
 
-    private static SlideDayTimeListener mListener;
+    private static final String TAG = "SlideDayTimeDialog";
 
+    // Above this many days the day tab is not pinned to its widest label,
+    // since that would mean asking a DaysProvider for every label.
+    private static final int MAX_PINNED_DAYS = 64;
+
+    // Only held while attached to the activity that it was set for, since
+    // this fragment is retained across orientation changes.
+    private SlideDayTimeListener mListener;
+
+    // Like the listener, only held while attached, and looked up from
+    // the host again after the activity has been recreated.
+    private DaysProvider mDaysProvider;
+
+    private SlideDayTimeConfig mConfig;
     private Context mContext;
     private CustomViewPager mViewPager;
-    private ViewPagerAdapter mViewPagerAdapter;
+    private PagerAdapter mViewPagerAdapter;
     private SlidingTabLayout mSlidingTabLayout;
-    private View mButtonHorizontalDivider;
-    private View mButtonVerticalDivider;
+    private SlideDayTimeLayout mSlideDayTimeLayout;
     private Button mOkButton;
     private Button mCancelButton;
-    private boolean mIsCustomDaysArraySpecified;
+    private boolean mHasCustomDays;
     private String[] mCustomDaysArray;
     private String[] mDaysArray;
+    private DaysProvider mDays;
     private int mDayIndex;
     private int mHour;
     private int mMinute;
@@ -55,13 +72,38 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
     private int mIndicatorColor;
     private boolean mIsClientSpecified24HourTime;
     private boolean mIs24HourTime;
-    private Calendar mCalendar;
+    private boolean mUseWheelViews;
+    private boolean mInflateAsync;
+    private boolean mUseViewPages;
+    private int mRequestCode;
+    private long mChangingIntervalMillis;
+    private boolean mIsChangingPosted;
+    private long mLastChangingMillis;
+    private TimeLabelFormatter mTimeLabelFormatter;
+    private ThemedPageContext mThemedPageContext;
 
     public SlideDayTimeDialogFragment()
     {
         // Required empty public constructor
     }
 
+    /**
+     * Return the tag that the dialog with the given request code is
+     * shown with, so that dialogs with different request codes can be
+     * showing at the same time.
+     *
+     * @param requestCode
+     * @return {@link #TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT}, followed by the
+     *         request code if it is not <tt>0</tt>
+     */
+    static String tagForRequestCode(int requestCode)
+    {
+        if (requestCode == 0)
+            return TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT;
+
+        return TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT + ":" + requestCode;
+    }
+
     /**
      * <p>Return a new instance of {@code SlideDayTimeDialogFragment} with its bundle
      * filled with the incoming arguments.</p>
@@ -69,39 +111,24 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
      * <p>Called by {@link SlideDayTimePicker#show()}.</p>
      *
      * @param listener
-     * @param isCustomDaysArraySpecified
-     * @param initialDay
-     * @param initialHour
-     * @param initialMinute
-     * @param isClientSpecified24HourTime
-     * @param is24HourTime
-     * @param theme
-     * @param indicatorColor
+     * @param daysProvider  the provider of the day labels, or {@code null}
+     * @param config
      * @return
      */
     public static SlideDayTimeDialogFragment newInstance(SlideDayTimeListener listener,
-            boolean isCustomDaysArraySpecified, String[] customDaysArray, int initialDay,
-            int initialHour, int initialMinute, boolean isClientSpecified24HourTime,
-            boolean is24HourTime, int theme, int indicatorColor)
+            DaysProvider daysProvider, SlideDayTimeConfig config)
     {
-        // Set listener to a static member variable in order to avoid the
-        // NotSerializableException on rotation.
-        mListener = listener;
-
         // Create a new instance of SlideDayTimeDialogFragment
         SlideDayTimeDialogFragment dialogFragment = new SlideDayTimeDialogFragment();
 
+        // The listener is not put into the bundle in order to avoid the
+        // NotSerializableException on rotation.
+        dialogFragment.mListener = listener;
+        dialogFragment.mDaysProvider = daysProvider;
+
         // Store the arguments and attach the bundle to the fragment
         Bundle bundle = new Bundle();
-        bundle.putBoolean("isCustomDaysArraySpecified", isCustomDaysArraySpecified);
-        bundle.putStringArray("customDaysArray", customDaysArray);
-        bundle.putInt("initialDay", initialDay);
-        bundle.putInt("initialHour", initialHour);
-        bundle.putInt("initialMinute", initialMinute);
-        bundle.putBoolean("isClientSpecified24HourTime", isClientSpecified24HourTime);
-        bundle.putBoolean("is24HourTime", is24HourTime);
-        bundle.putInt("theme", theme);
-        bundle.putInt("indicatorColor", indicatorColor);
+        bundle.putParcelable("config", config);
         dialogFragment.setArguments(bundle);
 
         // Return the fragment with its bundle
@@ -116,6 +143,70 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
         mContext = activity;
     }
 
+    /**
+     * Release the activity, the listener and the days provider. This
+     * fragment is retained, so it would otherwise keep the old activity
+     * alive across an orientation change, and for as long as the listener
+     * or the provider is referenced. After the activity is recreated they
+     * are found again by {@link #getListener()} and
+     * {@link #resolveDaysProvider()}.
+     */
+    @Override
+    public void onDetach()
+    {
+        super.onDetach();
+
+        mContext = null;
+        mListener = null;
+        mDaysProvider = null;
+    }
+
+    /**
+     * Set the listener for the activity that this fragment is currently
+     * attached to. Called by {@link SlideDayTimePicker#reattachListener}.
+     */
+    void setListener(SlideDayTimeListener listener)
+    {
+        mListener = listener;
+    }
+
+    /**
+     * Return the listener passed to {@link SlideDayTimePicker}, or, if this
+     * fragment has been recreated since, the one provided by the parent
+     * fragment or activity if it implements
+     * {@link SlideDayTimePicker.ListenerProvider}.
+     *
+     * @return the listener, or {@code null} if there is none
+     */
+    private SlideDayTimeListener getListener()
+    {
+        if (mListener != null)
+            return mListener;
+
+        SlideDayTimePicker.ListenerProvider provider =
+                findHost(SlideDayTimePicker.ListenerProvider.class);
+
+        return provider != null ? provider.getSlideDayTimeListener() : null;
+    }
+
+    /**
+     * @return the parent fragment, or else the activity, if it is a {@code type}
+     */
+    private <T> T findHost(Class<T> type)
+    {
+        Fragment parent = getParentFragment();
+
+        if (type.isInstance(parent))
+            return type.cast(parent);
+
+        Activity activity = getActivity();
+
+        if (type.isInstance(activity))
+            return type.cast(activity);
+
+        return null;
+    }
+
     @Override
     public void onCreate(Bundle savedInstanceState)
     {
@@ -123,16 +214,9 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
 
         setRetainInstance(true);
 
-        mDaysArray = getResources().getStringArray(R.array.days_array);
-
         unpackBundle();
 
-        if (!mIsCustomDaysArraySpecified)
-            mDayIndex--;
-
-        mCalendar = Calendar.getInstance();
-        mCalendar.set(Calendar.HOUR_OF_DAY, mHour);
-        mCalendar.set(Calendar.MINUTE, mMinute);
+        mTimeLabelFormatter = new TimeLabelFormatter();
 
         switch (mTheme)
         {
@@ -152,12 +236,47 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
     {
         View view = inflater.inflate(R.layout.slide_day_time_picker, container);
 
+        // Resolve the tab's time format here rather than in onCreate() so that
+        // a change to the locale or the device's 24-hour setting is picked up
+        // when the view is recreated.
+        mTimeLabelFormatter.setFormat(mContext, mIsClientSpecified24HourTime, mIs24HourTime);
+
         setupViews(view);
         customizeViews();
-        initViewPager();
+
+        // Resolved here rather than in onCreate() since this fragment is
+        // retained, and the locale may have changed since it was created.
+        mDaysArray = DayLabelCache.getDaysArray(getResources());
+        mDays = resolveDaysProvider();
+
+        // The recreated host does not provide the days, so the selected
+        // index can no longer be labelled. Build the view with blank days
+        // so that the restored pages have somewhere to go, then close the
+        // dialog as cancelled.
+        boolean isDaysProviderMissing = mDays == null;
+
+        if (isDaysProviderMissing)
+            mDays = new ArrayDaysProvider(createBlankDays(mDayIndex + 1));
+
+        initViewPager(inflater);
         initTabs();
         initButtons();
 
+        if (isDaysProviderMissing)
+        {
+            Log.w(TAG, "A DaysProvider was set, but the recreated dialog's " +
+                    "host does not implement DaysProvider");
+
+            deliverCancel();
+            dismissAllowingStateLoss();
+        }
+
+        if (mIsChangingPosted)
+        {
+            mIsChangingPosted = false;
+            postChanging();
+        }
+
         return view;
     }
 
@@ -172,30 +291,104 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
             getDialog().setDismissMessage(null);
         }
 
+        // A pending change is delivered again once the view is recreated.
+        if (mIsChangingPosted)
+            mViewPager.removeCallbacks(mDeliverChanging);
+
+        // Don't hold on to the activity's views and context while this
+        // fragment is retained. The view-hosted pages are built again
+        // from the current selection when the view is recreated.
+        mThemedPageContext = null;
+        mDays = null;
+        mViewPagerAdapter = null;
+        mViewPager = null;
+        mSlidingTabLayout = null;
+        mSlideDayTimeLayout = null;
+        mOkButton = null;
+        mCancelButton = null;
+
         super.onDestroyView();
     }
 
-    private void unpackBundle()
+    /**
+     * <p>Return the themed context that the pages are inflated in. It is
+     * created once for the dialog's view and shared by both pages.</p>
+     *
+     * <p>Called by {@link DayFragment} and {@link TimeFragment}.</p>
+     *
+     * @param inflater  the inflater to clone if the context has to be created
+     * @return the shared {@link ThemedPageContext}
+     */
+    ThemedPageContext getThemedPageContext(LayoutInflater inflater)
     {
-        Bundle args = getArguments();
+        if (mThemedPageContext == null || !mThemedPageContext.isFor(mContext, mTheme))
+            mThemedPageContext = new ThemedPageContext(mContext, inflater, mTheme);
 
-        mIsCustomDaysArraySpecified = args.getBoolean("isCustomDaysArraySpecified");
-        mCustomDaysArray = args.getStringArray("customDaysArray");
-        mDayIndex = args.getInt("initialDay");
-        mHour = args.getInt("initialHour");
-        mMinute = args.getInt("initialMinute");
-        mIsClientSpecified24HourTime = args.getBoolean("isClientSpecified24HourTime");
-        mIs24HourTime = args.getBoolean("is24HourTime");
-        mTheme = args.getInt("theme");
-        mIndicatorColor = args.getInt("indicatorColor");
+        return mThemedPageContext;
+    }
+
+    /**
+     * <p>Return the labels of the day picker. Called by {@link DayFragment}.</p>
+     *
+     * @return the {@link DaysProvider} resolved when the view was created
+     */
+    DaysProvider getDaysProvider()
+    {
+        return mDays;
+    }
+
+    /**
+     * Return the provider passed to {@link SlideDayTimePicker}, or, if the
+     * activity has been recreated since, the parent fragment or activity
+     * if it implements {@link DaysProvider}.
+     *
+     * @return the provider of the day labels, or {@code null} if one was
+     *         set but can no longer be found
+     */
+    private DaysProvider resolveDaysProvider()
+    {
+        if (!mConfig.isDaysProviderSpecified())
+            return new ArrayDaysProvider(mHasCustomDays ? mCustomDaysArray : mDaysArray);
+
+        if (mDaysProvider == null)
+            mDaysProvider = findHost(DaysProvider.class);
+
+        return mDaysProvider;
+    }
+
+    private static String[] createBlankDays(int count)
+    {
+        String[] days = new String[count];
+        Arrays.fill(days, "");
+
+        return days;
+    }
+
+    private void unpackBundle()
+    {
+        mConfig = getArguments().getParcelable("config");
+
+        mHasCustomDays = mConfig.hasCustomDays();
+        mCustomDaysArray = mConfig.getCustomDaysArray();
+        mDayIndex = mConfig.getDayIndex();
+        mHour = mConfig.getHour();
+        mMinute = mConfig.getMinute();
+        mIsClientSpecified24HourTime = mConfig.isClientSpecified24HourTime();
+        mIs24HourTime = mConfig.is24HourTime();
+        mTheme = mConfig.getTheme();
+        mIndicatorColor = mConfig.getIndicatorColor();
+        mUseWheelViews = mConfig.useWheelViews();
+        mInflateAsync = mConfig.inflateAsync();
+        mUseViewPages = mConfig.useViewPages();
+        mRequestCode = mConfig.getRequestCode();
+        mChangingIntervalMillis = mConfig.getChangingIntervalMillis();
     }
 
     private void setupViews(View v)
     {
         mViewPager = (CustomViewPager) v.findViewById(R.id.viewPager);
         mSlidingTabLayout = (SlidingTabLayout) v.findViewById(R.id.slidingTabLayout);
-        mButtonHorizontalDivider = v.findViewById(R.id.buttonHorizontalDivider);
-        mButtonVerticalDivider = v.findViewById(R.id.buttonVerticalDivider);
+        mSlideDayTimeLayout = (SlideDayTimeLayout) v.findViewById(R.id.slideDayTimeLayout);
         mOkButton = (Button) v.findViewById(R.id.okButton);
         mCancelButton = (Button) v.findViewById(R.id.cancelButton);
     }
@@ -212,13 +405,11 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
         {
         case SlideDayTimePicker.HOLO_LIGHT:
         case SlideDayTimePicker.HOLO_DARK:
-            mButtonHorizontalDivider.setBackgroundColor(lineColor);
-            mButtonVerticalDivider.setBackgroundColor(lineColor);
+            mSlideDayTimeLayout.setDividerColor(lineColor);
             break;
 
         default:  // if no theme was specified, default to holo light
-            mButtonHorizontalDivider.setBackgroundColor(getResources().getColor(R.color.gray_holo_light));
-            mButtonVerticalDivider.setBackgroundColor(getResources().getColor(R.color.gray_holo_light));
+            mSlideDayTimeLayout.setDividerColor(getResources().getColor(R.color.gray_holo_light));
         }
 
         // Set the color of the selected tab underline if one was specified.
@@ -226,11 +417,22 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
             mSlidingTabLayout.setSelectedIndicatorColors(mIndicatorColor);
     }
 
-    private void initViewPager()
+    private void initViewPager(LayoutInflater inflater)
     {
-        mViewPagerAdapter = new ViewPagerAdapter(getChildFragmentManager());
+        if (mUseViewPages)
+            mViewPagerAdapter = new ViewPageAdapter(getThemedPageContext(inflater));
+        else
+            mViewPagerAdapter = new ViewPagerAdapter(getChildFragmentManager());
+
         mViewPager.setAdapter(mViewPagerAdapter);
 
+        // The two tabs always fit, so the tab strip never has to scroll.
+        mSlidingTabLayout.setFixedTabs(true);
+
+        // Move the tab underline as a separate view while swiping instead
+        // of redrawing the tabs on every frame.
+        mSlidingTabLayout.setIndicatorLayerEnabled(true);
+
         // Setting this custom layout for each tab ensures that the tabs will
         // fill all available horizontal space.
         mSlidingTabLayout.setCustomTabView(R.layout.custom_tab, R.id.tabText);
@@ -239,6 +441,8 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
 
     private void initTabs()
     {
+        pinTabWidths();
+
         // Set intial date on date tab
         updateDayTab();
 
@@ -246,6 +450,56 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
         updateTimeTab();
     }
 
+    /**
+     * Pin each tab's width to its widest possible label in the current
+     * locale and time format, so that the tab text can change as the
+     * pickers move without laying out the dialog again. The day tab is
+     * left unpinned if there are more than {@link #MAX_PINNED_DAYS} days.
+     */
+    private void pinTabWidths()
+    {
+        int dayCount = mDays.getCount();
+
+        if (dayCount <= MAX_PINNED_DAYS)
+        {
+            float widestDay = 0f;
+
+            for (int i = 0; i < dayCount; i++)
+            {
+                widestDay = Math.max(widestDay,
+                        mSlidingTabLayout.measureTabText(0, mDays.getLabel(i)));
+            }
+
+            mSlidingTabLayout.setTabTextWidth(0, widestDay);
+        }
+
+        // Find the widest hour, then the widest minute within that hour,
+        // rather than measuring all 1440 labels.
+        int widestHour = 0;
+        float widestHourWidth = 0f;
+
+        for (int hour = 0; hour < 24; hour++)
+        {
+            float width = mSlidingTabLayout.measureTabText(1, mTimeLabelFormatter.format(hour, 0));
+
+            if (width > widestHourWidth)
+            {
+                widestHour = hour;
+                widestHourWidth = width;
+            }
+        }
+
+        float widestTime = widestHourWidth;
+
+        for (int minute = 1; minute < 60; minute++)
+        {
+            widestTime = Math.max(widestTime,
+                    mSlidingTabLayout.measureTabText(1, mTimeLabelFormatter.format(widestHour, minute)));
+        }
+
+        mSlidingTabLayout.setTabTextWidth(1, widestTime);
+    }
+
     private void initButtons()
     {
         mOkButton.setOnClickListener(new OnClickListener() {
@@ -253,29 +507,12 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
             @Override
             public void onClick(View v)
             {
-                if (mListener == null)
-                {
-                    throw new NullPointerException(
-                            "Listener no longer exists for mOkButton");
-                }
-
-                // mDayIndex currenly holds the index of the day in days_array,
-                // but we want to return a day integer that is compliant with
-                // the java.util.Calendar API, so we increment it by 1 if they're
-                // using the built-in days array.  If the user specifies their
-                // own custom array, return the raw index.
-                int returnDay;
-
-                if (!mIsCustomDaysArraySpecified)
-                {
-                    returnDay = mDayIndex + 1;
-                }
-                else
-                {
-                    returnDay = mDayIndex;
-                }
+                SlideDayTimeListener listener = getListener();
 
-                mListener.onDayTimeSet(returnDay, mHour, mMinute);
+                if (listener != null)
+                    listener.onDayTimeSet(mRequestCode, getReturnDay(), mHour, mMinute);
+                else
+                    Log.w(TAG, "No SlideDayTimeListener to deliver the day and time to");
 
                 dismiss();
             }
@@ -286,21 +523,70 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
             @Override
             public void onClick(View v)
             {
-                if (mListener == null)
-                {
-                    throw new NullPointerException(
-                            "Listener no longer exists for mCancelButton");
-                }
-
-                mListener.onDayTimeCancel();
+                deliverCancel();
 
                 dismiss();
             }
         });
     }
 
+    private int getReturnDay()
+    {
+        // mDayIndex currenly holds the index of the day in days_array,
+        // but we want to return a day integer that is compliant with
+        // the java.util.Calendar API, so we increment it by 1 if they're
+        // using the built-in days array.  If the user specifies their
+        // own custom array, return the raw index.
+        if (!mHasCustomDays)
+            return mDayIndex + 1;
+
+        return mDayIndex;
+    }
+
     /**
-     * <p>The callback used by the day picker to update {@code mCalendar} as
+     * <p>Schedule delivery of the current selection to
+     * {@link SlideDayTimeListener#onDayTimeChanging(int, int, int, int)}.</p>
+     *
+     * <p>Changes are coalesced, so that the listener is told at most once
+     * per frame, or once per {@code mChangingIntervalMillis} if one was set,
+     * and always about the latest selection.</p>
+     */
+    private void postChanging()
+    {
+        if (mIsChangingPosted || mViewPager == null)
+            return;
+
+        mIsChangingPosted = true;
+
+        if (mChangingIntervalMillis <= 0)
+        {
+            ViewCompat.postOnAnimation(mViewPager, mDeliverChanging);
+            return;
+        }
+
+        long delayMillis = mLastChangingMillis + mChangingIntervalMillis -
+                SystemClock.uptimeMillis();
+
+        mViewPager.postDelayed(mDeliverChanging, Math.max(0, delayMillis));
+    }
+
+    private final Runnable mDeliverChanging = new Runnable() {
+
+        @Override
+        public void run()
+        {
+            mIsChangingPosted = false;
+            mLastChangingMillis = SystemClock.uptimeMillis();
+
+            SlideDayTimeListener listener = getListener();
+
+            if (listener != null)
+                listener.onDayTimeChanging(mRequestCode, getReturnDay(), mHour, mMinute);
+        }
+    };
+
+    /**
+     * <p>The callback used by the day picker to update {@code mDayIndex} as
      * the user changes the date. Each time this is called, we update the
      * day tab to reflect the day the user has currenly selected.</p>
      *
@@ -309,14 +595,19 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
     @Override
     public void onDayChanged(int day)
     {
+        // A page that is restored or rebuilt reports the day it already shows.
+        if (day == mDayIndex)
+            return;
+
         mDayIndex = day;  // Sunday 0, Monday 1, ... Saturday 6
 
         updateDayTab();
+        postChanging();
     }
 
     /**
-     * <p>The callback used by the time picker to update {@code mCalendar}
-     * as the user changes the time. Each time this is called, we update
+     * <p>The callback used by the time picker to update {@code mHour} and
+     * {@code mMinute} as the user changes the time. Each time this is called, we update
      * the time tab to reflect the time the user has currenly selected.</p>
      *
      * <p>Implements the {@link TimeFragment.TimeChangedListener} interface.</p>
@@ -324,46 +615,28 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
     @Override
     public void onTimeChanged(int hour, int minute)
     {
+        if (hour == mHour && minute == mMinute)
+            return;
+
         mHour = hour;
         mMinute = minute;
 
-        mCalendar.set(Calendar.HOUR_OF_DAY, mHour);
-        mCalendar.set(Calendar.MINUTE, mMinute);
-
         updateTimeTab();
+        postChanging();
     }
 
     private void updateDayTab()
     {
-        if (mIsCustomDaysArraySpecified)
-            mSlidingTabLayout.setTabText(0, mCustomDaysArray[mDayIndex]);
-        else
-            mSlidingTabLayout.setTabText(0, mDaysArray[mDayIndex]);
+        // A page that is detached as the view is destroyed may still
+        // report the value it came to rest on.
+        if (mSlidingTabLayout != null)
+            mSlidingTabLayout.setTabText(0, mDays.getLabel(mDayIndex));
     }
 
-    @SuppressLint("SimpleDateFormat")
     private void updateTimeTab()
     {
-        if (mIsClientSpecified24HourTime)
-        {
-            SimpleDateFormat formatter;
-
-            if (mIs24HourTime)
-            {
-                formatter = new SimpleDateFormat("HH:mm");
-                mSlidingTabLayout.setTabText(1, formatter.format(mCalendar.getTime()));
-            }
-            else
-            {
-                formatter = new SimpleDateFormat("h:mm aa");
-                mSlidingTabLayout.setTabText(1, formatter.format(mCalendar.getTime()));
-            }
-        }
-        else  // display time using the device's default 12/24 hour format preference
-        {
-            mSlidingTabLayout.setTabText(1, DateFormat.getTimeFormat(
-                    mContext).format(mCalendar.getTimeInMillis()));
-        }
+        if (mSlidingTabLayout != null)
+            mSlidingTabLayout.setTabText(1, mTimeLabelFormatter.format(mHour, mMinute));
     }
 
     /**
@@ -378,13 +651,17 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
     {
         super.onCancel(dialog);
 
-        if (mListener == null)
-        {
-            throw new NullPointerException(
-                    "Listener no longer exists in onCancel()");
-        }
+        deliverCancel();
+    }
+
+    private void deliverCancel()
+    {
+        SlideDayTimeListener listener = getListener();
 
-        mListener.onDayTimeCancel();
+        if (listener != null)
+            listener.onDayTimeCancel(mRequestCode);
+        else
+            Log.w(TAG, "No SlideDayTimeListener to deliver the cancellation to");
     }
 
     private class ViewPagerAdapter extends FragmentPagerAdapter
@@ -401,19 +678,12 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
             {
             case 0:
                 Fragment dayFragment = DayFragment.newInstance(
-                        mTheme,
-                        mDayIndex,
-                        mIsCustomDaysArraySpecified,
-                        mCustomDaysArray);
+                        mConfig.forPage(getReturnDay(), mHour, mMinute));
                 dayFragment.setTargetFragment(SlideDayTimeDialogFragment.this, 100);
                 return dayFragment;
             case 1:
                 Fragment timeFragment = TimeFragment.newInstance(
-                        mTheme,
-                        mCalendar.get(Calendar.HOUR_OF_DAY),
-                        mCalendar.get(Calendar.MINUTE),
-                        mIsClientSpecified24HourTime,
-                        mIs24HourTime);
+                        mConfig.forPage(getReturnDay(), mHour, mMinute));
                 timeFragment.setTargetFragment(SlideDayTimeDialogFragment.this, 200);
                 return timeFragment;
             }
@@ -427,4 +697,71 @@ public class SlideDayTimeDialogFragment extends DialogFragment implements DayFra
             return 2;
         }
     }
+
+    /**
+     * Hosts the day and time pages as plain views owned by this dialog,
+     * instead of as child fragments. The pages are built straight from
+     * the dialog's current state, so no argument bundles or fragment
+     * transactions are needed.
+     */
+    private class ViewPageAdapter extends PagerAdapter
+    {
+        private final ThemedPageContext mPageContext;
+        private final View[] mPages = new View[2];
+
+        public ViewPageAdapter(ThemedPageContext pageContext)
+        {
+            mPageContext = pageContext;
+        }
+
+        @Override
+        public Object instantiateItem(ViewGroup container, int position)
+        {
+            if (mPages[position] == null)
+                mPages[position] = createPage(container, position);
+
+            container.addView(mPages[position]);
+
+            return mPages[position];
+        }
+
+        private View createPage(ViewGroup container, int position)
+        {
+            LayoutInflater inflater = mPageContext.getPageInflater(mInflateAsync);
+
+            if (position == 0)
+            {
+                return new DayPage(SlideDayTimeDialogFragment.this).createView(
+                        inflater, container, mDays, mDayIndex, mUseWheelViews, mInflateAsync);
+            }
+
+            // If the client does not specify a 24-hour time format, use the
+            // device default.
+            boolean is24HourView = mIsClientSpecified24HourTime ? mIs24HourTime :
+                    DateFormat.is24HourFormat(mContext);
+
+            return new TimePage(SlideDayTimeDialogFragment.this).createView(
+                    inflater, container, is24HourView, mHour, mMinute, mUseWheelViews,
+                    mInflateAsync);
+        }
+
+        @Override
+        public void destroyItem(ViewGroup container, int position, Object object)
+        {
+            // Keep the page so that it can be added back as it was.
+            container.removeView((View) object);
+        }
+
+        @Override
+        public boolean isViewFromObject(View view, Object object)
+        {
+            return view == object;
+        }
+
+        @Override
+        public int getCount()
+        {
+            return mPages.length;
+        }
+    }
 }
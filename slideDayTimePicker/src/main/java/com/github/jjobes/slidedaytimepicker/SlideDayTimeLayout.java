@@ -0,0 +1,193 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.support.v4.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * <p>The root of the dialog's layout. It lays out the {@link SlidingTabLayout},
+ * the {@link CustomViewPager} and the Cancel and OK buttons in a single pass,
+ * and draws the divider lines of the button bar itself instead of using a
+ * view for each of them.</p>
+ *
+ * <p>It expects exactly four children, in this order: the tabs and the
+ * pager, which are stacked at the full width of the dialog, then the two
+ * buttons, which share the bottom row. A horizontal line is drawn across
+ * the top of the button row and a vertical line between the buttons.
+ * In a right-to-left layout the buttons swap sides.</p>
+ *
+ * @author jjobes
+ *
+ */
+public class SlideDayTimeLayout extends ViewGroup
+{
+    // The vertical divider is inset from the top and bottom of the button row.
+    private static final int VERTICAL_DIVIDER_MARGIN_DIPS = 10;
+
+    private static final int CHILD_TABS = 0;
+    private static final int CHILD_PAGER = 1;
+    private static final int CHILD_START_BUTTON = 2;
+    private static final int CHILD_END_BUTTON = 3;
+
+    private final Paint mDividerPaint;
+    private final int mDividerThickness;
+    private final int mVerticalDividerMargin;
+
+    public SlideDayTimeLayout(Context context)
+    {
+        this(context, null);
+    }
+
+    public SlideDayTimeLayout(Context context, AttributeSet attrs)
+    {
+        super(context, attrs);
+
+        setWillNotDraw(false);
+
+        mDividerThickness = 1;  // px, as the divider views it replaces were
+        mVerticalDividerMargin = (int) (VERTICAL_DIVIDER_MARGIN_DIPS *
+                getResources().getDisplayMetrics().density + 0.5f);
+
+        mDividerPaint = new Paint();
+        mDividerPaint.setColor(getResources().getColor(R.color.gray_holo_dark));
+    }
+
+    /**
+     * Set the color of the horizontal line across the top of the button
+     * row and of the vertical line between the buttons.
+     *
+     * @param color
+     */
+    public void setDividerColor(int color)
+    {
+        if (mDividerPaint.getColor() != color)
+        {
+            mDividerPaint.setColor(color);
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
+    {
+        int horizontalPadding = getPaddingLeft() + getPaddingRight();
+        int verticalPadding = getPaddingTop() + getPaddingBottom();
+
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int contentWidth = Math.max(0, width - horizontalPadding);
+        int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+        int contentHeight = Math.max(0, MeasureSpec.getSize(heightMeasureSpec) - verticalPadding);
+
+        int exactWidthSpec = MeasureSpec.makeMeasureSpec(contentWidth, MeasureSpec.EXACTLY);
+        int wrapHeightSpec = heightMode == MeasureSpec.UNSPECIFIED ?
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED) :
+                MeasureSpec.makeMeasureSpec(contentHeight, MeasureSpec.AT_MOST);
+
+        View tabs = getChildAt(CHILD_TABS);
+        View startButton = getChildAt(CHILD_START_BUTTON);
+        View endButton = getChildAt(CHILD_END_BUTTON);
+
+        tabs.measure(exactWidthSpec, wrapHeightSpec);
+
+        // The buttons share the row equally, either side of the divider.
+        int startButtonWidth = (contentWidth - mDividerThickness) / 2;
+        int endButtonWidth = contentWidth - mDividerThickness - startButtonWidth;
+
+        startButton.measure(MeasureSpec.makeMeasureSpec(startButtonWidth, MeasureSpec.EXACTLY),
+                wrapHeightSpec);
+        endButton.measure(MeasureSpec.makeMeasureSpec(endButtonWidth, MeasureSpec.EXACTLY),
+                wrapHeightSpec);
+
+        int buttonRowHeight = Math.max(startButton.getMeasuredHeight(),
+                endButton.getMeasuredHeight());
+
+        // The pager gets whatever height is left.
+        int usedHeight = tabs.getMeasuredHeight() + mDividerThickness + buttonRowHeight;
+        int pagerHeightSpec = heightMode == MeasureSpec.UNSPECIFIED ?
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED) :
+                MeasureSpec.makeMeasureSpec(Math.max(0, contentHeight - usedHeight), heightMode);
+
+        View pager = getChildAt(CHILD_PAGER);
+        pager.measure(exactWidthSpec, pagerHeightSpec);
+
+        // Re-measure the buttons at the height of the row, as a horizontal
+        // LinearLayout would.
+        if (startButton.getMeasuredHeight() != buttonRowHeight)
+        {
+            startButton.measure(MeasureSpec.makeMeasureSpec(startButtonWidth, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(buttonRowHeight, MeasureSpec.EXACTLY));
+        }
+
+        if (endButton.getMeasuredHeight() != buttonRowHeight)
+        {
+            endButton.measure(MeasureSpec.makeMeasureSpec(endButtonWidth, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(buttonRowHeight, MeasureSpec.EXACTLY));
+        }
+
+        int height = usedHeight + pager.getMeasuredHeight() + verticalPadding;
+
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b)
+    {
+        int left = getPaddingLeft();
+        int right = r - l - getPaddingRight();
+
+        View tabs = getChildAt(CHILD_TABS);
+        View pager = getChildAt(CHILD_PAGER);
+        View startButton = getChildAt(CHILD_START_BUTTON);
+        View endButton = getChildAt(CHILD_END_BUTTON);
+
+        int top = getPaddingTop();
+
+        tabs.layout(left, top, right, top + tabs.getMeasuredHeight());
+        top += tabs.getMeasuredHeight();
+
+        pager.layout(left, top, right, top + pager.getMeasuredHeight());
+        top += pager.getMeasuredHeight() + mDividerThickness;
+
+        // Like a horizontal LinearLayout, put the start button on the
+        // right in a right-to-left layout.
+        View leftButton = isLayoutRtl() ? endButton : startButton;
+        View rightButton = isLayoutRtl() ? startButton : endButton;
+
+        int leftButtonRight = left + leftButton.getMeasuredWidth();
+        leftButton.layout(left, top, leftButtonRight, top + leftButton.getMeasuredHeight());
+
+        int rightButtonLeft = leftButtonRight + mDividerThickness;
+        rightButton.layout(rightButtonLeft, top, rightButtonLeft + rightButton.getMeasuredWidth(),
+                top + rightButton.getMeasuredHeight());
+    }
+
+    private boolean isLayoutRtl()
+    {
+        return ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas)
+    {
+        View startButton = getChildAt(CHILD_START_BUTTON);
+        View endButton = getChildAt(CHILD_END_BUTTON);
+        View leftButton = isLayoutRtl() ? endButton : startButton;
+
+        int buttonRowTop = leftButton.getTop();
+        int buttonRowBottom = leftButton.getBottom();
+
+        // The horizontal separator that runs across the top of the button bar
+        canvas.drawRect(getPaddingLeft(), buttonRowTop - mDividerThickness,
+                getWidth() - getPaddingRight(), buttonRowTop, mDividerPaint);
+
+        // The vertical divider line between the two buttons
+        int dividerLeft = leftButton.getRight();
+        canvas.drawRect(dividerLeft, buttonRowTop + mVerticalDividerMargin,
+                dividerLeft + mDividerThickness, buttonRowBottom - mVerticalDividerMargin,
+                mDividerPaint);
+    }
+}
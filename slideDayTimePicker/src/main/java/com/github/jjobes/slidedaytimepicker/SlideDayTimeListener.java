@@ -9,6 +9,11 @@ package com.github.jjobes.slidedaytimepicker;
  * This is called when the user presses the Cancel button, touches
  * outside the dialog or presses the device's <b>Back</b> button.</p>
  *
+ * <p>A listener that serves several pickers can override the variants
+ * that take the request code set with
+ * {@link SlideDayTimePicker#setRequestCode(int)} instead. By default
+ * they call the variants without it.</p>
+ *
  * @author jjobes
  *
  */
@@ -24,6 +29,56 @@ public abstract class SlideDayTimeListener
      */
     public abstract void onDayTimeSet(int day, int hour, int minute);
 
+    /**
+     * Informs the client when the user presses "OK"
+     * and selects a day and time. Override this to
+     * find out which picker the result is for. Calls
+     * {@link #onDayTimeSet(int, int, int)} by default.
+     *
+     * @param requestCode  the request code the picker was shown with
+     * @param day  the day the user has selected
+     * @param hour  the hour the user has selected
+     * @param minute  the minutes the user has selected
+     */
+    public void onDayTimeSet(int requestCode, int day, int hour, int minute)
+    {
+        onDayTimeSet(day, hour, minute);
+    }
+
+    /**
+     * Informs the client of the day and time the
+     * user has selected so far, while the dialog is
+     * still open. Calls are coalesced to at most one
+     * per frame, or one per interval set with
+     * {@link SlideDayTimePicker#setChangingCallbackInterval(long)},
+     * and always carry the latest selection.
+     * This override is optional.
+     *
+     * @param day  the day the user has selected
+     * @param hour  the hour the user has selected
+     * @param minute  the minutes the user has selected
+     */
+    public void onDayTimeChanging(int day, int hour, int minute)
+    {
+
+    }
+
+    /**
+     * Like {@link #onDayTimeChanging(int, int, int)},
+     * with the request code the picker was shown with.
+     * Calls {@link #onDayTimeChanging(int, int, int)}
+     * by default.
+     *
+     * @param requestCode  the request code the picker was shown with
+     * @param day  the day the user has selected
+     * @param hour  the hour the user has selected
+     * @param minute  the minutes the user has selected
+     */
+    public void onDayTimeChanging(int requestCode, int day, int hour, int minute)
+    {
+        onDayTimeChanging(day, hour, minute);
+    }
+
     /**
      * Informs the client when the user cancels the
      * dialog by pressing Cancel, touching outside
@@ -34,4 +89,17 @@ public abstract class SlideDayTimeListener
     {
 
     }
+
+    /**
+     * Informs the client when the user cancels the
+     * dialog. Override this to find out which picker
+     * was canceled. Calls {@link #onDayTimeCancel()}
+     * by default.
+     *
+     * @param requestCode  the request code the picker was shown with
+     */
+    public void onDayTimeCancel(int requestCode)
+    {
+        onDayTimeCancel();
+    }
 }
@@ -1,8 +1,13 @@
 package com.github.jjobes.slidedaytimepicker;
 
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentTransaction;
+import android.util.Log;
 
 /**
  * Interface for the library client to create a new {@code SlideDayTimePicker}.
@@ -15,6 +20,56 @@ public class SlideDayTimePicker
     public static final int HOLO_DARK = 1;
     public static final int HOLO_LIGHT = 2;
 
+    private static final String TAG = "SlideDayTimePicker";
+
+    /**
+     * Informs the client when {@link SlideDayTimePicker#prewarm(Context, PrewarmListener)}
+     * has finished. Called on the main thread.
+     */
+    public interface PrewarmListener
+    {
+        /**
+         * @param elapsedMillis  how long the warm-up took on the background thread
+         */
+        void onPrewarmFinished(long elapsedMillis);
+    }
+
+    /**
+     * <p>Implemented by the activity or the parent fragment of the dialog
+     * to provide the {@link SlideDayTimeListener} after the activity has
+     * been recreated, e.g. after an orientation change.</p>
+     *
+     * <p>The dialog only holds on to the listener passed to
+     * {@link SlideDayTimePicker#setListener(SlideDayTimeListener)} until its
+     * activity is destroyed, so that the listener can't keep that activity
+     * alive.</p>
+     */
+    public interface ListenerProvider
+    {
+        SlideDayTimeListener getSlideDayTimeListener();
+    }
+
+    // The picker classes that are loaded ahead of time by prewarm().
+    private static final String[] PREWARM_CLASS_NAMES = {
+        "com.github.jjobes.slidedaytimepicker.SlideDayTimeDialogFragment",
+        "com.github.jjobes.slidedaytimepicker.SlideDayTimeConfig",
+        "com.github.jjobes.slidedaytimepicker.DayFragment",
+        "com.github.jjobes.slidedaytimepicker.TimeFragment",
+        "com.github.jjobes.slidedaytimepicker.DayPage",
+        "com.github.jjobes.slidedaytimepicker.TimePage",
+        "com.github.jjobes.slidedaytimepicker.ThemedPageContext",
+        "com.github.jjobes.slidedaytimepicker.ArrayDaysProvider",
+        "com.github.jjobes.slidedaytimepicker.SlideDayTimeLayout",
+        "com.github.jjobes.slidedaytimepicker.CustomViewPager",
+        "com.github.jjobes.slidedaytimepicker.SlidingTabLayout",
+        "com.github.jjobes.slidedaytimepicker.SlidingTabStrip",
+        "com.github.jjobes.slidedaytimepicker.CustomNumberPicker",
+        "com.github.jjobes.slidedaytimepicker.CustomTimePicker",
+        "com.github.jjobes.slidedaytimepicker.WheelView",
+        "android.widget.NumberPicker",
+        "android.widget.TimePicker"
+    };
+
     private FragmentManager mFragmentManager;
     private SlideDayTimeListener mListener;
     private int mInitialDay;
@@ -24,8 +79,14 @@ public class SlideDayTimePicker
     private boolean mIs24HourTime;
     private boolean mIsCustomDaysArraySpecified;
     private String[] mCustomDaysArray;
+    private DaysProvider mDaysProvider;
     private int mTheme;
     private int mIndicatorColor;
+    private boolean mUseWheelViews;
+    private boolean mInflateAsync;
+    private boolean mUseViewPages;
+    private int mRequestCode;
+    private long mChangingIntervalMillis;
 
     /**
      * Creates a new instance of {@code SlideDayTimePicker}.
@@ -35,18 +96,123 @@ public class SlideDayTimePicker
      */
     public SlideDayTimePicker(FragmentManager fm)
     {
-        // See if there are any DialogFragments from the FragmentManager
-        FragmentTransaction ft = fm.beginTransaction();
-        Fragment prev = fm.findFragmentByTag(SlideDayTimeDialogFragment.TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT);
+        mFragmentManager = fm;
+    }
 
-        // Remove if found
-        if (prev != null)
-        {
-            ft.remove(prev);
-            ft.commit();
-        }
+    /**
+     * @see #prewarm(Context, PrewarmListener)
+     */
+    public static void prewarm(Context context)
+    {
+        prewarm(context, null);
+    }
 
-        mFragmentManager = fm;
+    /**
+     * <p>Does the thread-safe parts of opening the picker ahead of time
+     * on a background thread, so that the first call to {@link #show()}
+     * doesn't pay for them on the main thread.</p>
+     *
+     * <p>This loads the picker classes, looks up the reflective handles used
+     * by the custom pickers, reads the day names, loads the selection divider
+     * drawable and formats the time tab labels for the device's default
+     * time format. Inflating the layouts has to stay on the main thread and
+     * is not done here.</p>
+     *
+     * <p>It is safe to call this more than once, and to call {@link #show()}
+     * before it has finished.</p>
+     *
+     * @param context  any {@code Context}; only its application context is kept
+     * @param listener  told how long the warm-up took, or {@code null}. The
+     *                  duration is logged either way.
+     */
+    public static void prewarm(Context context, final PrewarmListener listener)
+    {
+        final Context appContext = context.getApplicationContext();
+
+        new Thread(new Runnable() {
+
+            @Override
+            public void run()
+            {
+                long startMillis = SystemClock.elapsedRealtime();
+
+                for (String className : PREWARM_CLASS_NAMES)
+                {
+                    try
+                    {
+                        Class.forName(className);
+                    }
+                    catch (ClassNotFoundException e)
+                    {
+                        Log.e(TAG, "ClassNotFoundException in prewarm()", e);
+                    }
+                }
+
+                NumberPickerReflection.preload();
+                DayLabelCache.getDaysArray(appContext.getResources());
+                SelectionDividerProvider.getDrawable(appContext.getResources());
+
+                TimeLabelFormatter timeLabelFormatter = new TimeLabelFormatter();
+                timeLabelFormatter.setFormat(appContext, false, false);
+                timeLabelFormatter.fillLabelTable();
+
+                final long elapsedMillis = SystemClock.elapsedRealtime() - startMillis;
+
+                Log.d(TAG, "prewarm() took " + elapsedMillis + " ms");
+
+                if (listener != null)
+                {
+                    new Handler(Looper.getMainLooper()).post(new Runnable() {
+
+                        @Override
+                        public void run()
+                        {
+                            listener.onPrewarmFinished(elapsedMillis);
+                        }
+                    });
+                }
+            }
+        }, "SlideDayTimePicker-prewarm").start();
+    }
+
+    /**
+     * <p>Give a dialog that is still showing after its activity was
+     * recreated, e.g. after an orientation change, the listener to use
+     * from now on. Call this from the new activity's {@code onCreate()}.
+     * This is not needed if the activity or the parent fragment implements
+     * {@link ListenerProvider}.</p>
+     *
+     * @param fm  the {@code FragmentManager} that the dialog was shown with
+     * @param listener
+     * @return <tt>true</tt> if a dialog was showing
+     */
+    public static boolean reattachListener(FragmentManager fm, SlideDayTimeListener listener)
+    {
+        return reattachListener(fm, 0, listener);
+    }
+
+    /**
+     * Like {@link #reattachListener(FragmentManager, SlideDayTimeListener)}, for the
+     * dialog that was shown with the given request code.
+     *
+     * @param fm  the {@code FragmentManager} that the dialog was shown with
+     * @param requestCode  the request code the dialog was shown with
+     * @param listener
+     * @return <tt>true</tt> if a dialog with that request code was showing
+     * @see #setRequestCode(int)
+     */
+    public static boolean reattachListener(FragmentManager fm, int requestCode,
+            SlideDayTimeListener listener)
+    {
+        Fragment fragment = fm.findFragmentByTag(
+                SlideDayTimeDialogFragment.tagForRequestCode(requestCode));
+
+        if (!(fragment instanceof SlideDayTimeDialogFragment))
+            return false;
+
+        ((SlideDayTimeDialogFragment) fragment).setListener(listener);
+
+        return true;
     }
 
     /**
@@ -55,6 +221,11 @@ public class SlideDayTimePicker
      *
      * <p>This must be called before {@link #show()}.</p>
      *
+     * <p>The dialog stops using this listener when its activity is
+     * destroyed. To keep receiving results after an orientation change,
+     * implement {@link ListenerProvider} or call
+     * {@link #reattachListener(FragmentManager, SlideDayTimeListener)}.</p>
+     *
      * @param listener
      */
     public void setListener(SlideDayTimeListener listener)
@@ -163,6 +334,30 @@ public class SlideDayTimePicker
         mCustomDaysArray = customDaysArray;
     }
 
+    /**
+     * <p>Specify a {@link DaysProvider} that supplies the items to display
+     * in the picker, instead of a custom days array. Use this for long
+     * lists of days: only the labels that are shown are requested, and
+     * the list is not copied into the dialog's saved state. As with a
+     * custom days array, {@code onDayTimeSet()} will return the raw
+     * 0-based index of the selected item.</p>
+     *
+     * <p>If both are set, the provider is used.</p>
+     *
+     * <p>The dialog releases the provider when the activity is destroyed.
+     * After it has been recreated, the dialog asks the parent fragment or
+     * activity instead, so implement {@link DaysProvider} there. If neither
+     * does, the dialog is closed as cancelled.</p>
+     *
+     * <p>Must be called before {@link #show()}.</p>
+     *
+     * @param daysProvider
+     */
+    public void setDaysProvider(DaysProvider daysProvider)
+    {
+        mDaysProvider = daysProvider;
+    }
+
     /**
      * Sets the theme of the dialog. If no theme is specified, it
      * defaults to holo light.
@@ -185,6 +380,87 @@ public class SlideDayTimePicker
         mIndicatorColor = indicatorColor;
     }
 
+    /**
+     * <p>Sets whether the dialog uses lightweight {@link WheelView}s in place
+     * of the platform {@code NumberPicker} and {@code TimePicker}. The wheels
+     * draw their items directly onto the {@code Canvas} and have no child
+     * views, so they are faster to inflate and to scroll on low-end devices.
+     * Defaults to <tt>false</tt>.</p>
+     *
+     * <p>Must be called before {@link #show()}.</p>
+     *
+     * @param useWheelViews  <tt>true</tt> to use the lightweight wheels
+     */
+    public void setUseWheelViews(boolean useWheelViews)
+    {
+        mUseWheelViews = useWheelViews;
+    }
+
+    /**
+     * <p>Sets whether the day and time pages are inflated on a worker thread
+     * while the dialog animates in. An empty placeholder is shown until each
+     * page is ready, which shortens the time until the dialog's first frame.
+     * Defaults to <tt>false</tt>.</p>
+     *
+     * <p>Must be called before {@link #show()}.</p>
+     *
+     * @param inflateAsync  <tt>true</tt> to inflate the pages off the main thread
+     */
+    public void setInflateAsync(boolean inflateAsync)
+    {
+        mInflateAsync = inflateAsync;
+    }
+
+    /**
+     * <p>Sets whether the dialog hosts the day and time pages as plain views
+     * instead of as child fragments. This skips the child fragment
+     * transactions and the per-page argument bundles, so the dialog becomes
+     * interactive sooner. Defaults to <tt>false</tt>.</p>
+     *
+     * <p>Must be called before {@link #show()}.</p>
+     *
+     * @param useViewPages  <tt>true</tt> to host the pages as plain views
+     */
+    public void setUseViewPages(boolean useViewPages)
+    {
+        mUseViewPages = useViewPages;
+    }
+
+    /**
+     * <p>Sets the request code that is passed back to
+     * {@link SlideDayTimeListener#onDayTimeSet(int, int, int, int)} and
+     * {@link SlideDayTimeListener#onDayTimeCancel(int)}, so that a single
+     * listener can tell apart the results of several pickers, e.g. one per
+     * row of a list. Defaults to <tt>0</tt>.</p>
+     *
+     * <p>Dialogs with different request codes can be showing at the same
+     * time. Showing a dialog replaces any that is showing with the same
+     * request code.</p>
+     *
+     * <p>Must be called before {@link #show()}.</p>
+     *
+     * @param requestCode
+     */
+    public void setRequestCode(int requestCode)
+    {
+        mRequestCode = requestCode;
+    }
+
+    /**
+     * <p>Sets how often {@link SlideDayTimeListener#onDayTimeChanging(int, int, int)}
+     * may be called while the user changes the day and time. Changes in
+     * between are coalesced, and the latest one is delivered. Defaults to
+     * <tt>0</tt>, which delivers at most once per frame.</p>
+     *
+     * <p>Must be called before {@link #show()}.</p>
+     *
+     * @param intervalMillis  the minimum time between two calls, in milliseconds
+     */
+    public void setChangingCallbackInterval(long intervalMillis)
+    {
+        mChangingIntervalMillis = intervalMillis;
+    }
+
     /**
      * Show the dialog to the user. Make sure to set the listener before calling this.
      */
@@ -199,18 +475,36 @@ public class SlideDayTimePicker
         SlideDayTimeDialogFragment dialogFragment =
                 SlideDayTimeDialogFragment.newInstance(
                         mListener,
-                        mIsCustomDaysArraySpecified,
-                        mCustomDaysArray,
-                        mInitialDay,
-                        mInitialHour,
-                        mInitialMinute,
-                        mIsClientSpecified24HourTime,
-                        mIs24HourTime,
-                        mTheme,
-                        mIndicatorColor);
-
-        dialogFragment.show(mFragmentManager,
-                SlideDayTimeDialogFragment.TAG_SLIDE_DAY_TIME_DIALOG_FRAGMENT);
+                        mDaysProvider,
+                        new SlideDayTimeConfig(
+                                mIsCustomDaysArraySpecified && mDaysProvider == null,
+                                mDaysProvider == null ? mCustomDaysArray : null,
+                                mDaysProvider != null,
+                                mInitialDay,
+                                mInitialHour,
+                                mInitialMinute,
+                                mIsClientSpecified24HourTime,
+                                mIs24HourTime,
+                                mTheme,
+                                mIndicatorColor,
+                                mUseWheelViews,
+                                mInflateAsync,
+                                mUseViewPages,
+                                mRequestCode,
+                                mChangingIntervalMillis));
+
+        String tag = SlideDayTimeDialogFragment.tagForRequestCode(mRequestCode);
+
+        // Remove a dialog with the same request code if one is showing
+        FragmentTransaction ft = mFragmentManager.beginTransaction();
+        Fragment prev = mFragmentManager.findFragmentByTag(tag);
+
+        if (prev != null)
+        {
+            ft.remove(prev);
+        }
+
+        dialogFragment.show(ft, tag);
     }
 
     /*
@@ -225,6 +519,7 @@ public class SlideDayTimePicker
 
         // Optional
         private String[] customDaysArray;
+        private DaysProvider daysProvider;
         private int initialDay;
         private int initialHour;
         private int initialMinute;
@@ -232,6 +527,11 @@ public class SlideDayTimePicker
         private boolean is24HourTime;
         private int theme;
         private int indicatorColor;
+        private boolean useWheelViews;
+        private boolean inflateAsync;
+        private boolean useViewPages;
+        private int requestCode;
+        private long changingIntervalMillis;
 
         public Builder(FragmentManager fm)
         {
@@ -256,6 +556,15 @@ public class SlideDayTimePicker
             return this;
         }
 
+        /**
+         * @see SlideDayTimePicker#setDaysProvider(DaysProvider)
+         */
+        public Builder setDaysProvider(DaysProvider daysProvider)
+        {
+            this.daysProvider = daysProvider;
+            return this;
+        }
+
         /**
          * @see SlideDayTimePicker#setInitialDay(int)
          */
@@ -311,6 +620,51 @@ public class SlideDayTimePicker
             return this;
         }
 
+        /**
+         * @see SlideDayTimePicker#setUseWheelViews(boolean)
+         */
+        public Builder setUseWheelViews(boolean useWheelViews)
+        {
+            this.useWheelViews = useWheelViews;
+            return this;
+        }
+
+        /**
+         * @see SlideDayTimePicker#setInflateAsync(boolean)
+         */
+        public Builder setInflateAsync(boolean inflateAsync)
+        {
+            this.inflateAsync = inflateAsync;
+            return this;
+        }
+
+        /**
+         * @see SlideDayTimePicker#setUseViewPages(boolean)
+         */
+        public Builder setUseViewPages(boolean useViewPages)
+        {
+            this.useViewPages = useViewPages;
+            return this;
+        }
+
+        /**
+         * @see SlideDayTimePicker#setRequestCode(int)
+         */
+        public Builder setRequestCode(int requestCode)
+        {
+            this.requestCode = requestCode;
+            return this;
+        }
+
+        /**
+         * @see SlideDayTimePicker#setChangingCallbackInterval(long)
+         */
+        public Builder setChangingCallbackInterval(long changingIntervalMillis)
+        {
+            this.changingIntervalMillis = changingIntervalMillis;
+            return this;
+        }
+
         /**
          * <p>Build and return a {@code SlideDayTimePicker} object based on the previously
          * supplied parameters.</p>
@@ -324,6 +678,7 @@ public class SlideDayTimePicker
             SlideDayTimePicker picker = new SlideDayTimePicker(fm);
             picker.setListener(listener);
             picker.setCustomDaysArray(customDaysArray);
+            picker.setDaysProvider(daysProvider);
             picker.setInitialDay(initialDay);
             picker.setInitialHour(initialHour);
             picker.setInitialMinute(initialMinute);
@@ -331,6 +686,11 @@ public class SlideDayTimePicker
             picker.setIs24HourTime(is24HourTime);
             picker.setTheme(theme);
             picker.setIndicatorColor(indicatorColor);
+            picker.setUseWheelViews(useWheelViews);
+            picker.setInflateAsync(inflateAsync);
+            picker.setUseViewPages(useViewPages);
+            picker.setRequestCode(requestCode);
+            picker.setChangingCallbackInterval(changingIntervalMillis);
 
             return picker;
         }
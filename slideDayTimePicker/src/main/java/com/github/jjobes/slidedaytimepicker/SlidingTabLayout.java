@@ -21,12 +21,17 @@ import android.graphics.Typeface;
 import android.os.Build;
 import android.support.v4.view.PagerAdapter;
 import android.support.v4.view.ViewPager;
+import android.text.TextUtils;
+import android.text.method.TransformationMethod;
 import android.util.AttributeSet;
 import android.util.SparseArray;
 import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
 import android.widget.HorizontalScrollView;
 import android.widget.TextView;
 
@@ -49,6 +54,10 @@ import android.widget.TextView;
  * Modifed by jjobes (12/7/2014) - added mTabTitleViews SparseArray and setTabText().
  *   Also modifed populateTabStrip() to fill mTabTitleViews.
  *
+ * Modified by jjobes - added setIndicatorLayerEnabled(), measureTabText() and
+ *   setTabTextWidth(). setTabText() now skips text that is already shown.
+ *   Added setFixedTabs(), and each tab now has its own TabClickListener.
+ *
  */
 public class SlidingTabLayout extends HorizontalScrollView {
 
@@ -76,6 +85,8 @@ public class SlidingTabLayout extends HorizontalScrollView {
 
     private int mTitleOffset;
 
+    private boolean mFixedTabs;
+
     private int mTabViewLayoutId;
     private int mTabViewTextViewId;
 
@@ -87,6 +98,9 @@ public class SlidingTabLayout extends HorizontalScrollView {
     private ViewPager.OnPageChangeListener mViewPagerPageChangeListener;
 
     private final SlidingTabStrip mTabStrip;
+    private FrameLayout mIndicatorLayer;
+
+    private int mLayoutCount;
 
     public SlidingTabLayout(Context context) {
         this(context, null);
@@ -137,6 +151,64 @@ public class SlidingTabLayout extends HorizontalScrollView {
         mTabStrip.setDividerColors(colors);
     }
 
+    /**
+     * Sets whether the selected tab indicator is a separate view on top of the tab strip
+     * instead of being drawn by it. Swiping between pages then only changes the translation and
+     * scale of that view, which the RenderThread applies without redrawing the tab strip or the
+     * tab titles.
+     */
+    public void setIndicatorLayerEnabled(boolean enabled) {
+        if (enabled == (mIndicatorLayer != null)) {
+            return;
+        }
+
+        if (enabled) {
+            removeView(mTabStrip);
+
+            View indicatorView = new View(getContext());
+
+            mIndicatorLayer = new FrameLayout(getContext());
+            mIndicatorLayer.addView(mTabStrip, LayoutParams.MATCH_PARENT,
+                    LayoutParams.WRAP_CONTENT);
+            mIndicatorLayer.addView(indicatorView, new FrameLayout.LayoutParams(1,
+                    mTabStrip.getSelectedIndicatorThickness(), Gravity.BOTTOM));
+            addView(mIndicatorLayer, LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+
+            mTabStrip.setIndicatorView(indicatorView);
+        } else {
+            mTabStrip.setIndicatorView(null);
+
+            removeView(mIndicatorLayer);
+            mIndicatorLayer.removeView(mTabStrip);
+            mIndicatorLayer = null;
+
+            addView(mTabStrip, LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+        }
+    }
+
+    /**
+     * Sets whether the tabs always fit across the layout, as when they are equally weighted.
+     * The tab strip is then never scrolled, so the scroll position isn't worked out on every
+     * page scroll callback and touches aren't intercepted for scrolling. The tabs are still
+     * colored by the {@link TabColorizer}.
+     */
+    public void setFixedTabs(boolean fixedTabs) {
+        mFixedTabs = fixedTabs;
+        if (fixedTabs) {
+            scrollTo(0, 0);
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        return !mFixedTabs && super.onInterceptTouchEvent(ev);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        return !mFixedTabs && super.onTouchEvent(ev);
+    }
+
     /**
      * Set the {@link ViewPager.OnPageChangeListener}. When using {@link SlidingTabLayout} you are
      * required to set any {@link ViewPager.OnPageChangeListener} through this method. This is so
@@ -205,7 +277,6 @@ public class SlidingTabLayout extends HorizontalScrollView {
 
     private void populateTabStrip() {
         final PagerAdapter adapter = mViewPager.getAdapter();
-        final View.OnClickListener tabClickListener = new TabClickListener();
 
         for (int i = 0; i < adapter.getCount(); i++) {
             View tabView = null;
@@ -227,7 +298,7 @@ public class SlidingTabLayout extends HorizontalScrollView {
             }
 
             tabTitleView.setText(adapter.getPageTitle(i));
-            tabView.setOnClickListener(tabClickListener);
+            tabView.setOnClickListener(new TabClickListener(i));
 
             // Used to get a reference to each tab's TextView in order to
             // update the text in setTabText().
@@ -238,7 +309,8 @@ public class SlidingTabLayout extends HorizontalScrollView {
     }
 
     /**
-     * Set the text on the specified tab's TextView.
+     * Set the text on the specified tab's TextView. Nothing is done if the tab already shows
+     * {@code text}.
      *
      * @param index  the index of the tab whose TextView you want to update
      * @param text  the text to display on the specified tab's TextView
@@ -246,11 +318,77 @@ public class SlidingTabLayout extends HorizontalScrollView {
     public void setTabText(int index, String text) {
         TextView tv = (TextView) mTabTitleViews.get(index);
 
-        if (tv != null) {
+        if (tv != null && !TextUtils.equals(tv.getText(), text)) {
             tv.setText(text);
         }
     }
 
+    /**
+     * Return the width that {@code text} would take up in the specified tab's TextView.
+     *
+     * @param index  the index of the tab whose TextView the text is measured for
+     * @param text  the text to measure
+     * @return the width of the text in pixels, or 0 if there is no such tab
+     */
+    public float measureTabText(int index, CharSequence text) {
+        TextView tv = (TextView) mTabTitleViews.get(index);
+
+        if (tv == null) {
+            return 0f;
+        }
+
+        // Measure the text as it will be shown, e.g. in all caps.
+        TransformationMethod transformation = tv.getTransformationMethod();
+        if (transformation != null) {
+            text = transformation.getTransformation(text, tv);
+        }
+
+        return TextLayoutCache.get(text.toString(), tv.getPaint()).width;
+    }
+
+    /**
+     * Pin the width of the specified tab's TextView to fit text of the given width. Once every
+     * text that the tab can show fits, changing the text only redraws the TextView instead of
+     * laying out the tabs and the views around them again.
+     *
+     * @param index  the index of the tab whose TextView you want to pin
+     * @param textWidth  the width of the widest text the tab will show, as returned by
+     *                   {@link #measureTabText(int, CharSequence)}
+     */
+    public void setTabTextWidth(int index, float textWidth) {
+        TextView tv = (TextView) mTabTitleViews.get(index);
+
+        if (tv == null) {
+            return;
+        }
+
+        int width = (int) Math.ceil(textWidth) + tv.getCompoundPaddingLeft()
+                + tv.getCompoundPaddingRight();
+
+        // Keep shorter text centered within the pinned width, as it was when the
+        // TextView wrapped it.
+        tv.setGravity(Gravity.CENTER_HORIZONTAL);
+
+        ViewGroup.LayoutParams params = tv.getLayoutParams();
+        if (params.width != width) {
+            params.width = width;
+            tv.setLayoutParams(params);
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        mLayoutCount++;
+    }
+
+    /**
+     * @return the number of times this layout has been laid out
+     */
+    int getLayoutCount() {
+        return mLayoutCount;
+    }
+
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
@@ -261,6 +399,10 @@ public class SlidingTabLayout extends HorizontalScrollView {
     }
 
     private void scrollToTab(int tabIndex, int positionOffset) {
+        if (mFixedTabs) {
+            return;
+        }
+
         final int tabStripChildCount = mTabStrip.getChildCount();
         if (tabStripChildCount == 0 || tabIndex < 0 || tabIndex >= tabStripChildCount) {
             return;
@@ -291,11 +433,13 @@ public class SlidingTabLayout extends HorizontalScrollView {
 
             mTabStrip.onViewPagerPageChanged(position, positionOffset);
 
-            View selectedTitle = mTabStrip.getChildAt(position);
-            int extraOffset = (selectedTitle != null)
-                    ? (int) (positionOffset * selectedTitle.getWidth())
-                    : 0;
-            scrollToTab(position, extraOffset);
+            if (!mFixedTabs) {
+                View selectedTitle = mTabStrip.getChildAt(position);
+                int extraOffset = (selectedTitle != null)
+                        ? (int) (positionOffset * selectedTitle.getWidth())
+                        : 0;
+                scrollToTab(position, extraOffset);
+            }
 
             if (mViewPagerPageChangeListener != null) {
                 mViewPagerPageChangeListener.onPageScrolled(position, positionOffset,
@@ -327,14 +471,15 @@ public class SlidingTabLayout extends HorizontalScrollView {
     }
 
     private class TabClickListener implements View.OnClickListener {
+        private final int mPosition;
+
+        TabClickListener(int position) {
+            mPosition = position;
+        }
+
         @Override
         public void onClick(View v) {
-            for (int i = 0; i < mTabStrip.getChildCount(); i++) {
-                if (v == mTabStrip.getChildAt(i)) {
-                    mViewPager.setCurrentItem(i);
-                    return;
-                }
-            }
+            mViewPager.setCurrentItem(mPosition);
         }
     }
 
@@ -21,6 +21,8 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.View;
@@ -51,6 +53,37 @@ class SlidingTabStrip extends LinearLayout {
     private int mSelectedPosition;
     private float mSelectionOffset;
 
+    // Where the indicator was last drawn, and in which color. Only worked out
+    // again when the selection, the layout or the colors change.
+    private final Rect mIndicatorRect = new Rect();
+    private int mIndicatorColor;
+
+    // If set, the indicator is this view instead of being drawn by the strip.
+    private View mIndicatorView;
+    private int mIndicatorViewColor;
+
+    // The pager reports its scroll position more often than once a frame,
+    // so the latest position is applied once per frame.
+    private boolean mIndicatorUpdatePosted;
+    private final Rect mDirtyRect = new Rect();
+    private final Runnable mIndicatorUpdate = new Runnable() {
+        @Override
+        public void run() {
+            mIndicatorUpdatePosted = false;
+            if (mIndicatorView != null) {
+                // Moving the indicator view doesn't redraw anything.
+                updateIndicator();
+                return;
+            }
+            mDirtyRect.set(mIndicatorRect);
+            updateIndicator();
+            mDirtyRect.union(mIndicatorRect);
+            if (!mDirtyRect.isEmpty()) {
+                invalidate(mDirtyRect);
+            }
+        }
+    };
+
     private SlidingTabLayout.TabColorizer mCustomTabColorizer;
     private final SimpleTabColorizer mDefaultTabColorizer;
 
@@ -90,6 +123,7 @@ class SlidingTabStrip extends LinearLayout {
 
     void setCustomTabColorizer(SlidingTabLayout.TabColorizer customTabColorizer) {
         mCustomTabColorizer = customTabColorizer;
+        updateIndicator();
         invalidate();
     }
 
@@ -97,6 +131,7 @@ class SlidingTabStrip extends LinearLayout {
         // Make sure that the custom colorizer is removed
         mCustomTabColorizer = null;
         mDefaultTabColorizer.setIndicatorColors(colors);
+        updateIndicator();
         invalidate();
     }
 
@@ -104,13 +139,112 @@ class SlidingTabStrip extends LinearLayout {
         // Make sure that the custom colorizer is removed
         mCustomTabColorizer = null;
         mDefaultTabColorizer.setDividerColors(colors);
+        updateIndicator();
+        invalidate();
+    }
+
+    int getSelectedIndicatorThickness() {
+        return mSelectedIndicatorThickness;
+    }
+
+    /**
+     * Use {@code indicatorView} as the indicator instead of drawing it in {@link #onDraw}. The
+     * view must be one pixel wide and {@link #getSelectedIndicatorThickness()} high, and sit
+     * along the bottom of the strip. It is then moved with its translation and scale
+     * properties, which doesn't redraw the strip or the tabs.
+     */
+    void setIndicatorView(View indicatorView) {
+        mIndicatorView = indicatorView;
+        if (indicatorView != null) {
+            indicatorView.setPivotX(0f);
+            indicatorView.setBackgroundColor(mIndicatorViewColor);
+        }
+        updateIndicator();
         invalidate();
     }
 
     void onViewPagerPageChanged(int position, float positionOffset) {
         mSelectedPosition = position;
         mSelectionOffset = positionOffset;
-        invalidate();
+
+        if (!mIndicatorUpdatePosted) {
+            mIndicatorUpdatePosted = true;
+            ViewCompat.postOnAnimation(this, mIndicatorUpdate);
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+
+        // The tabs may have moved, and the layout redraws the whole strip anyway.
+        updateIndicator();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        removeCallbacks(mIndicatorUpdate);
+        mIndicatorUpdatePosted = false;
+
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Work out the bounds and color of the thick colored underline below the
+     * current selection.
+     */
+    private void updateIndicator() {
+        final int height = getHeight();
+        final int childCount = getChildCount();
+
+        if (childCount == 0 || mSelectedPosition >= childCount) {
+            mIndicatorRect.setEmpty();
+            moveIndicatorView();
+            return;
+        }
+
+        final SlidingTabLayout.TabColorizer tabColorizer = getTabColorizer();
+
+        View selectedTitle = getChildAt(mSelectedPosition);
+        int left = selectedTitle.getLeft();
+        int right = selectedTitle.getRight();
+        int color = tabColorizer.getIndicatorColor(mSelectedPosition);
+
+        if (mSelectionOffset > 0f && mSelectedPosition < (childCount - 1)) {
+            int nextColor = tabColorizer.getIndicatorColor(mSelectedPosition + 1);
+            if (color != nextColor) {
+                color = blendColors(nextColor, color, mSelectionOffset);
+            }
+
+            // Draw the selection partway between the tabs
+            View nextTitle = getChildAt(mSelectedPosition + 1);
+            left = (int) (mSelectionOffset * nextTitle.getLeft() +
+                    (1.0f - mSelectionOffset) * left);
+            right = (int) (mSelectionOffset * nextTitle.getRight() +
+                    (1.0f - mSelectionOffset) * right);
+        }
+
+        mIndicatorRect.set(left, height - mSelectedIndicatorThickness, right, height);
+        mIndicatorColor = color;
+        moveIndicatorView();
+    }
+
+    private void moveIndicatorView() {
+        if (mIndicatorView == null) {
+            return;
+        }
+
+        mIndicatorView.setTranslationX(mIndicatorRect.left);
+        mIndicatorView.setScaleX(mIndicatorRect.width());
+
+        if (mIndicatorViewColor != mIndicatorColor) {
+            mIndicatorViewColor = mIndicatorColor;
+            mIndicatorView.setBackgroundColor(mIndicatorColor);
+        }
+    }
+
+    private SlidingTabLayout.TabColorizer getTabColorizer() {
+        return mCustomTabColorizer != null ? mCustomTabColorizer : mDefaultTabColorizer;
     }
 
     @Override
@@ -118,35 +252,15 @@ class SlidingTabStrip extends LinearLayout {
         final int height = getHeight();
         final int childCount = getChildCount();
         final int dividerHeightPx = (int) (Math.min(Math.max(0f, mDividerHeight), 1f) * height);
-        final SlidingTabLayout.TabColorizer tabColorizer = mCustomTabColorizer != null
-                ? mCustomTabColorizer
-                : mDefaultTabColorizer;
+        final SlidingTabLayout.TabColorizer tabColorizer = getTabColorizer();
 
         // Thick colored underline below the current selection
-        if (childCount > 0) {
-            View selectedTitle = getChildAt(mSelectedPosition);
-            int left = selectedTitle.getLeft();
-            int right = selectedTitle.getRight();
-            int color = tabColorizer.getIndicatorColor(mSelectedPosition);
-
-            if (mSelectionOffset > 0f && mSelectedPosition < (getChildCount() - 1)) {
-                int nextColor = tabColorizer.getIndicatorColor(mSelectedPosition + 1);
-                if (color != nextColor) {
-                    color = blendColors(nextColor, color, mSelectionOffset);
-                }
-
-                // Draw the selection partway between the tabs
-                View nextTitle = getChildAt(mSelectedPosition + 1);
-                left = (int) (mSelectionOffset * nextTitle.getLeft() +
-                        (1.0f - mSelectionOffset) * left);
-                right = (int) (mSelectionOffset * nextTitle.getRight() +
-                        (1.0f - mSelectionOffset) * right);
+        if (mIndicatorView == null && !mIndicatorRect.isEmpty()) {
+            if (mSelectedIndicatorPaint.getColor() != mIndicatorColor) {
+                mSelectedIndicatorPaint.setColor(mIndicatorColor);
             }
 
-            mSelectedIndicatorPaint.setColor(color);
-
-            canvas.drawRect(left, height - mSelectedIndicatorThickness, right,
-                    height, mSelectedIndicatorPaint);
+            canvas.drawRect(mIndicatorRect, mSelectedIndicatorPaint);
         }
 
         // Thin underline along the entire bottom edge
@@ -156,7 +270,10 @@ class SlidingTabStrip extends LinearLayout {
         int separatorTop = (height - dividerHeightPx) / 2;
         for (int i = 0; i < childCount - 1; i++) {
             View child = getChildAt(i);
-            mDividerPaint.setColor(tabColorizer.getDividerColor(i));
+            int dividerColor = tabColorizer.getDividerColor(i);
+            if (mDividerPaint.getColor() != dividerColor) {
+                mDividerPaint.setColor(dividerColor);
+            }
             canvas.drawLine(child.getRight(), separatorTop, child.getRight(),
                     separatorTop + dividerHeightPx, mDividerPaint);
         }
@@ -0,0 +1,138 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.LruCache;
+
+/**
+ * <p>A bounded LRU cache of measured wheel labels, shared by every
+ * {@link WheelView} in the process.</p>
+ *
+ * <p>Entries are keyed by the label text and the size and typeface of the
+ * {@code Paint} it is drawn with, so the digits <tt>00-59</tt>, the AM/PM
+ * strings and the day names are each measured once and then looked up on
+ * every frame while the wheels scroll. A lookup that hits the cache does
+ * not allocate.</p>
+ *
+ * <p>The hit and miss counts are exposed so that it can be confirmed that
+ * steady-state scrolling is served entirely from the cache.</p>
+ *
+ * @author jjobes
+ *
+ */
+final class TextLayoutCache
+{
+    /**
+     * A label and its measured width.
+     */
+    static final class MeasuredLabel
+    {
+        final String text;
+        final float width;
+
+        MeasuredLabel(String text, float width)
+        {
+            this.text = text;
+            this.width = width;
+        }
+    }
+
+    // Enough for the minutes, hours, AM/PM and the day names of a few
+    // open wheels, with room for a screenful of custom day labels.
+    private static final int MAX_SIZE = 256;
+
+    private static final LruCache<Key, MeasuredLabel> sCache =
+            new LruCache<Key, MeasuredLabel>(MAX_SIZE);
+
+    // Reused for lookups so that a cache hit does not allocate a key.
+    private static final Key sLookupKey = new Key();
+
+    private TextLayoutCache()
+    {
+        // Not instantiable
+    }
+
+    /**
+     * Return the measured label for {@code text} drawn with {@code paint},
+     * measuring and caching it if it is not already cached.
+     *
+     * @param text
+     * @param paint
+     * @return the cached measurement
+     */
+    static synchronized MeasuredLabel get(String text, Paint paint)
+    {
+        sLookupKey.set(text, paint.getTextSize(), paint.getTypeface());
+
+        MeasuredLabel label = sCache.get(sLookupKey);
+
+        if (label == null)
+        {
+            label = new MeasuredLabel(text, paint.measureText(text));
+
+            Key key = new Key();
+            key.set(text, paint.getTextSize(), paint.getTypeface());
+            sCache.put(key, label);
+        }
+
+        return label;
+    }
+
+    /**
+     * @return the number of lookups that were served from the cache
+     */
+    static synchronized int hitCount()
+    {
+        return sCache.hitCount();
+    }
+
+    /**
+     * @return the number of lookups that had to measure the label
+     */
+    static synchronized int missCount()
+    {
+        return sCache.missCount();
+    }
+
+    private static final class Key
+    {
+        private String mText;
+        private float mTextSize;
+        private Typeface mTypeface;
+        private int mHashCode;
+
+        void set(String text, float textSize, Typeface typeface)
+        {
+            mText = text;
+            mTextSize = textSize;
+            mTypeface = typeface;
+
+            int hashCode = text.hashCode();
+            hashCode = 31 * hashCode + Float.floatToIntBits(textSize);
+            hashCode = 31 * hashCode + (typeface != null ? typeface.hashCode() : 0);
+            mHashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+                return true;
+
+            if (!(o instanceof Key))
+                return false;
+
+            Key other = (Key) o;
+
+            return mTextSize == other.mTextSize &&
+                   mText.equals(other.mText) &&
+                   (mTypeface == null ? other.mTypeface == null : mTypeface.equals(other.mTypeface));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return mHashCode;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.util.SparseIntArray;
+import android.util.TypedValue;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+
+/**
+ * <p>The themed context that the day and time pages are inflated in.</p>
+ *
+ * <p>Unless we inflate using a Holo theme, on Lollipop devices the
+ * TimePicker will be the new-style radial TimePicker, which is not what
+ * we want. {@link SlideDayTimeDialogFragment} therefore creates one of
+ * these for its theme and shares it, together with a single cloned
+ * {@code LayoutInflater}, with all of its pages instead of having each
+ * page wrap the theme and clone its inflater again.</p>
+ *
+ * <p>Theme attributes that the pages look up, such as the text color of
+ * the {@link WheelView}s, are resolved once and cached.</p>
+ *
+ * @author jjobes
+ *
+ */
+class ThemedPageContext extends ContextThemeWrapper
+{
+    private final int mTheme;
+    private final LayoutInflater mInflater;
+    private final SparseIntArray mColorAttributes = new SparseIntArray();
+
+    /**
+     * @param base  the host activity
+     * @param inflater  the inflater to clone for this context
+     * @param theme  {@link SlideDayTimePicker#HOLO_DARK} or {@link SlideDayTimePicker#HOLO_LIGHT}
+     */
+    ThemedPageContext(Context base, LayoutInflater inflater, int theme)
+    {
+        super(base, theme == SlideDayTimePicker.HOLO_DARK ?
+                android.R.style.Theme_Holo : android.R.style.Theme_Holo_Light);
+
+        mTheme = theme;
+        mInflater = inflater.cloneInContext(this);
+    }
+
+    /**
+     * @return <tt>true</tt> if this context wraps {@code base} with {@code theme}
+     *         and can be reused for it
+     */
+    boolean isFor(Context base, int theme)
+    {
+        return getBaseContext() == base && mTheme == theme;
+    }
+
+    /**
+     * Return the inflater for a page.
+     *
+     * @param inflateAsync  <tt>true</tt> if the page is inflated on the worker
+     *                      thread, which needs an inflater of its own
+     * @return a {@code LayoutInflater} bound to this context
+     */
+    LayoutInflater getPageInflater(boolean inflateAsync)
+    {
+        return inflateAsync ? mInflater.cloneInContext(this) : mInflater;
+    }
+
+    /**
+     * Return the default color of the color attribute {@code attr} in the
+     * theme of {@code context}. The lookup is cached if {@code context} is
+     * a {@code ThemedPageContext}.
+     *
+     * @param context
+     * @param attr  a color attribute such as {@code android.R.attr.textColorPrimary}
+     * @param defaultColor  returned if the theme does not define {@code attr}
+     * @return the resolved color
+     */
+    static int getColorAttribute(Context context, int attr, int defaultColor)
+    {
+        if (!(context instanceof ThemedPageContext))
+            return resolveColorAttribute(context, attr, defaultColor);
+
+        ThemedPageContext pageContext = (ThemedPageContext) context;
+
+        // Pages inflated on the worker thread look colors up from there.
+        synchronized (pageContext.mColorAttributes)
+        {
+            int index = pageContext.mColorAttributes.indexOfKey(attr);
+
+            if (index >= 0)
+                return pageContext.mColorAttributes.valueAt(index);
+
+            int color = resolveColorAttribute(context, attr, defaultColor);
+            pageContext.mColorAttributes.put(attr, color);
+
+            return color;
+        }
+    }
+
+    private static int resolveColorAttribute(Context context, int attr, int defaultColor)
+    {
+        TypedValue outValue = new TypedValue();
+
+        if (!context.getTheme().resolveAttribute(attr, outValue, true))
+            return defaultColor;
+
+        if (outValue.resourceId != 0)
+        {
+            ColorStateList colors = context.getResources().getColorStateList(outValue.resourceId);
+            return colors.getDefaultColor();
+        }
+
+        return outValue.data;
+    }
+}
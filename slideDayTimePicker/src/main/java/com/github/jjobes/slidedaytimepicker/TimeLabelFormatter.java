@@ -0,0 +1,198 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import android.content.Context;
+
+/**
+ * <p>Formats the hour and minute shown on the time tab.</p>
+ *
+ * <p>The underlying {@link DateFormat} is resolved once in
+ * {@link #setFormat(Context, boolean, boolean)} and kept until the
+ * locale or the 12/24-hour mode changes. {@link #format(int, int)}
+ * reuses the same {@code Calendar}, {@code Date} and output buffer
+ * on every call, so scrolling the time picker does not create a new
+ * formatter for every tick.</p>
+ *
+ * <p>Each label is also stored in a table of all
+ * {@value #MINUTES_PER_DAY} minutes of the day, indexed by
+ * {@code hour * 60 + minute}. There is one table for each 12/24-hour
+ * mode, shared by every dialog in the process, so pickers with
+ * different modes can be open at the same time without evicting each
+ * other's labels. The tables are filled in lazily as minutes are
+ * displayed, and only thrown away when the locale changes. Once a
+ * minute has been shown, showing it again is a single array lookup.</p>
+ *
+ * @author jjobes
+ *
+ */
+class TimeLabelFormatter
+{
+    private static final String PATTERN_24_HOUR = "HH:mm";
+    private static final String PATTERN_12_HOUR = "h:mm aa";
+
+    private static final int MODE_CLIENT_24_HOUR = 1;
+    private static final int MODE_CLIENT_12_HOUR = 2;
+    private static final int MODE_DEVICE_24_HOUR = 3;
+    private static final int MODE_DEVICE_12_HOUR = 4;
+    private static final int MODE_COUNT = 4;
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    // The minute-of-day label tables shared by all instances, indexed
+    // by mode - 1, and the locale they were built for.
+    private static final String[][] sLabels = new String[MODE_COUNT][];
+    private static Locale sLabelsLocale;
+
+    // Only the wall-clock hour and minute matter, so the labels are
+    // formatted in UTC. In the local time zone a minute that is skipped
+    // by a daylight saving change, such as 02:30, would be normalized to
+    // another one and cached under the wrong minute.
+    private final Calendar mCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    private final Date mDate = new Date();
+    private final StringBuffer mBuffer = new StringBuffer(16);
+    private final FieldPosition mFieldPosition = new FieldPosition(0);
+
+    private DateFormat mFormat;
+    private Locale mLocale;
+    private int mMode;
+    private String[] mLabels;
+
+    /**
+     * Resolve the format to use for the tab text. If the client did not
+     * specify a 12/24-hour mode, the device's default preference is used.
+     * The current formatter is kept if neither the locale nor the mode
+     * has changed since the last call.
+     *
+     * @param context
+     * @param isClientSpecified24HourTime
+     * @param is24HourTime
+     */
+    void setFormat(Context context, boolean isClientSpecified24HourTime, boolean is24HourTime)
+    {
+        Locale locale = Locale.getDefault();
+        int mode;
+
+        if (isClientSpecified24HourTime)
+        {
+            mode = is24HourTime ? MODE_CLIENT_24_HOUR : MODE_CLIENT_12_HOUR;
+        }
+        else
+        {
+            mode = android.text.format.DateFormat.is24HourFormat(context) ?
+                    MODE_DEVICE_24_HOUR : MODE_DEVICE_12_HOUR;
+        }
+
+        if (mFormat != null && mode == mMode && locale.equals(mLocale))
+            return;
+
+        switch (mode)
+        {
+        case MODE_CLIENT_24_HOUR:
+            mFormat = new SimpleDateFormat(PATTERN_24_HOUR, locale);
+            break;
+        case MODE_CLIENT_12_HOUR:
+            mFormat = new SimpleDateFormat(PATTERN_12_HOUR, locale);
+            break;
+        default:  // use the device's default time format
+            mFormat = android.text.format.DateFormat.getTimeFormat(context);
+        }
+
+        mFormat.setTimeZone(mCalendar.getTimeZone());
+
+        mLocale = locale;
+        mMode = mode;
+        mLabels = obtainLabelTable(locale, mode);
+    }
+
+    /**
+     * @return the formatter chosen in
+     *         {@link #setFormat(Context, boolean, boolean)}, or
+     *         <tt>null</tt> if it has not been called yet
+     */
+    DateFormat getDateFormat()
+    {
+        return mFormat;
+    }
+
+    /**
+     * Return the shared label table for the given locale and mode. The
+     * tables of every mode are thrown away if they were built for a
+     * different locale.
+     */
+    private static synchronized String[] obtainLabelTable(Locale locale, int mode)
+    {
+        if (!locale.equals(sLabelsLocale))
+        {
+            Arrays.fill(sLabels, null);
+            sLabelsLocale = locale;
+        }
+
+        if (sLabels[mode - 1] == null)
+            sLabels[mode - 1] = new String[MINUTES_PER_DAY];
+
+        return sLabels[mode - 1];
+    }
+
+    /**
+     * Return the label for the given time using the format chosen in
+     * {@link #setFormat(Context, boolean, boolean)}. The label is
+     * formatted the first time that minute is requested and looked up
+     * in the minute-of-day table afterwards.
+     *
+     * @param hour  the hour of day (<tt>0-23</tt>)
+     * @param minute  the minute (<tt>0-59</tt>)
+     * @return the formatted time
+     */
+    String format(int hour, int minute)
+    {
+        if (mFormat == null)
+        {
+            throw new IllegalStateException(
+                    "setFormat() must be called before format()");
+        }
+
+        int index = hour * 60 + minute;
+        String label = mLabels[index];
+
+        if (label == null)
+        {
+            label = formatUncached(hour, minute);
+            mLabels[index] = label;
+        }
+
+        return label;
+    }
+
+    /**
+     * Format every minute of the day that is not already in the label
+     * table. Used to fill the table ahead of time on a background thread.
+     */
+    void fillLabelTable()
+    {
+        for (int hour = 0; hour < 24; hour++)
+        {
+            for (int minute = 0; minute < 60; minute++)
+                format(hour, minute);
+        }
+    }
+
+    private String formatUncached(int hour, int minute)
+    {
+        mCalendar.set(Calendar.HOUR_OF_DAY, hour);
+        mCalendar.set(Calendar.MINUTE, minute);
+        mDate.setTime(mCalendar.getTimeInMillis());
+
+        mBuffer.setLength(0);
+        mFormat.format(mDate, mBuffer, mFieldPosition);
+
+        return mBuffer.toString();
+    }
+}
@@ -0,0 +1,285 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import java.text.DateFormatSymbols;
+
+import android.os.Build;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.DatePicker;
+import android.widget.NumberPicker;
+import android.widget.NumberPicker.OnValueChangeListener;
+import android.widget.TimePicker;
+
+/**
+ * <p>Builds the time page: the {@link CustomTimePicker} (or the hour, minute
+ * and AM/PM {@link WheelView}s).</p>
+ *
+ * <p>Used by {@link TimeFragment}, and directly by
+ * {@link SlideDayTimeDialogFragment} when the pages are hosted as plain
+ * views rather than as child fragments.</p>
+ *
+ * @author jjobes
+ *
+ */
+class TimePage
+{
+    private final TimeFragment.TimeChangedListener mCallback;
+    private TimePicker mTimePicker;
+    private WheelView mHourWheel;
+    private WheelView mMinuteWheel;
+    private WheelView mAmPmWheel;
+    private boolean mIs24HourView;
+    private int mLastHourOfDay;
+    private int mLastMinute;
+
+    TimePage(TimeFragment.TimeChangedListener callback)
+    {
+        mCallback = callback;
+    }
+
+    /**
+     * Inflate and initialize the page.
+     *
+     * @param inflater  an inflater wrapping one of the Holo themes
+     * @param container
+     * @param is24HourView
+     * @param initialHour
+     * @param initialMinute
+     * @param useWheelViews
+     * @param inflateAsync
+     * @return the page's view, or a placeholder for it if {@code inflateAsync} is set
+     */
+    View createView(LayoutInflater inflater, ViewGroup container, final boolean is24HourView,
+            final int initialHour, final int initialMinute, final boolean useWheelViews,
+            boolean inflateAsync)
+    {
+        int layoutResId = useWheelViews ? R.layout.fragment_time_wheel : R.layout.fragment_time;
+
+        // Inflate the page on a worker thread and show a placeholder
+        // until it is ready.
+        if (inflateAsync)
+        {
+            return AsyncPageInflater.inflate(inflater, layoutResId,
+                    new AsyncPageInflater.OnInflateFinishedListener() {
+
+                @Override
+                public void onInflateFinished(View view)
+                {
+                    initPage(view, is24HourView, initialHour, initialMinute, useWheelViews);
+                }
+            });
+        }
+
+        View v = inflater.inflate(layoutResId, container, false);
+
+        initPage(v, is24HourView, initialHour, initialMinute, useWheelViews);
+
+        return v;
+    }
+
+    private void initPage(View v, boolean is24HourView, int initialHour, int initialMinute,
+            boolean useWheelViews)
+    {
+        if (useWheelViews)
+        {
+            initTimeWheels(v, is24HourView, initialHour, initialMinute);
+            return;
+        }
+
+        mTimePicker = (TimePicker) v.findViewById(R.id.timePicker);
+        // block keyboard popping up on touch
+        mTimePicker.setDescendantFocusability(DatePicker.FOCUS_BLOCK_DESCENDANTS);
+
+        mTimePicker.setIs24HourView(is24HourView);
+
+        mTimePicker.setCurrentHour(initialHour);
+        mTimePicker.setCurrentMinute(initialMinute);
+
+        // Attached last, so that setting the initial time is not reported
+        // as a change.
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnTimeChangedListener() {
+
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute)
+            {
+                mCallback.onTimeChanged(hourOfDay, minute);
+            }
+        });
+
+        // Fix for the bug where a TimePicker's onTimeChanged() is not called when
+        // the user toggles the AM/PM button. Only applies to 4.0.0 and 4.0.3.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH &&
+            Build.VERSION.SDK_INT <= Build.VERSION_CODES.ICE_CREAM_SANDWICH_MR1)
+        {
+            fixTimePickerBug18982();
+        }
+    }
+
+    /**
+     * Set up the hour, minute and AM/PM {@link WheelView}s used in place
+     * of the {@code TimePicker}. Like the {@code TimePicker}, scrolling the
+     * minutes past the hour or the hours past 11 or 12 o'clock carries over
+     * into the hour and AM/PM wheels.
+     */
+    private void initTimeWheels(View v, boolean is24HourView, int initialHour, int initialMinute)
+    {
+        mIs24HourView = is24HourView;
+        mHourWheel = (WheelView) v.findViewById(R.id.hourWheel);
+        mMinuteWheel = (WheelView) v.findViewById(R.id.minuteWheel);
+        mAmPmWheel = (WheelView) v.findViewById(R.id.amPmWheel);
+
+        if (is24HourView)
+        {
+            mHourWheel.setMinValue(0);
+            mHourWheel.setMaxValue(23);
+            mHourWheel.setFormatter(WheelView.TWO_DIGIT_FORMATTER);
+            mAmPmWheel.setVisibility(View.GONE);
+        }
+        else
+        {
+            mHourWheel.setMinValue(1);
+            mHourWheel.setMaxValue(12);
+            mAmPmWheel.setMinValue(0);
+            mAmPmWheel.setMaxValue(1);
+            mAmPmWheel.setDisplayedValues(new DateFormatSymbols().getAmPmStrings());
+            mAmPmWheel.setWrapSelectorWheel(false);
+        }
+
+        mMinuteWheel.setMinValue(0);
+        mMinuteWheel.setMaxValue(59);
+        mMinuteWheel.setFormatter(WheelView.TWO_DIGIT_FORMATTER);
+
+        setWheelsToTime(initialHour, initialMinute);
+        mLastHourOfDay = getWheelHourOfDay();
+        mLastMinute = mMinuteWheel.getValue();
+
+        // Carrying the minutes into the hour and toggling AM/PM follow the
+        // wheels as they move, while the dialog is only told about the time
+        // once a wheel has come to rest.
+        mHourWheel.setOnValueScrolledListener(new WheelView.OnValueScrollListener() {
+
+            @Override
+            public void onValueScrolled(WheelView wheel, int oldVal, int newVal)
+            {
+                // Crossing 11 <-> 12 toggles between AM and PM.
+                if (!mIs24HourView &&
+                    ((oldVal == 11 && newVal == 12) || (oldVal == 12 && newVal == 11)))
+                {
+                    mAmPmWheel.setValue(1 - mAmPmWheel.getValue());
+                }
+            }
+        });
+
+        mMinuteWheel.setOnValueScrolledListener(new WheelView.OnValueScrollListener() {
+
+            @Override
+            public void onValueScrolled(WheelView wheel, int oldVal, int newVal)
+            {
+                // Wrapping the minutes carries over into the hour.
+                if (oldVal == 59 && newVal == 0)
+                    setWheelsToTime((getWheelHourOfDay() + 1) % 24, newVal);
+                else if (oldVal == 0 && newVal == 59)
+                    setWheelsToTime((getWheelHourOfDay() + 23) % 24, newVal);
+            }
+        });
+
+        WheelView.OnValueChangeListener onValueChangeListener = new WheelView.OnValueChangeListener() {
+
+            @Override
+            public void onValueChange(WheelView wheel, int oldVal, int newVal)
+            {
+                onWheelTimeChanged();
+            }
+        };
+
+        mHourWheel.setOnValueChangedListener(onValueChangeListener);
+        mMinuteWheel.setOnValueChangedListener(onValueChangeListener);
+        mAmPmWheel.setOnValueChangedListener(onValueChangeListener);
+    }
+
+    private void setWheelsToTime(int hourOfDay, int minute)
+    {
+        if (mIs24HourView)
+        {
+            mHourWheel.setValue(hourOfDay);
+        }
+        else
+        {
+            int hour = hourOfDay % 12;
+            mHourWheel.setValue(hour == 0 ? 12 : hour);
+            mAmPmWheel.setValue(hourOfDay < 12 ? 0 : 1);
+        }
+
+        if (mMinuteWheel.getValue() != minute)
+            mMinuteWheel.setValue(minute);
+    }
+
+    private int getWheelHourOfDay()
+    {
+        if (mIs24HourView)
+            return mHourWheel.getValue();
+
+        int hour = mHourWheel.getValue() % 12;
+
+        return mAmPmWheel.getValue() == 1 ? hour + 12 : hour;
+    }
+
+    /**
+     * Notify the dialog of the time shown by the wheels, but only if it
+     * differs from the time it was last told about.
+     */
+    private void onWheelTimeChanged()
+    {
+        int hourOfDay = getWheelHourOfDay();
+        int minute = mMinuteWheel.getValue();
+
+        if (hourOfDay == mLastHourOfDay && minute == mLastMinute)
+            return;
+
+        mLastHourOfDay = hourOfDay;
+        mLastMinute = minute;
+
+        mCallback.onTimeChanged(hourOfDay, minute);
+    }
+
+    /**
+     * Workaround for bug in Android TimePicker where the onTimeChanged() callback
+     * is not invoked when the user toggles between AM/PM. But we need to be able
+     * to detect this in order to dynamically update the tab title properly when
+     * the user toggles between AM/PM.
+     *
+     * Registered as Issue 18982:
+     *
+     * https://code.google.com/p/android/issues/detail?id=18982
+     */
+    private void fixTimePickerBug18982()
+    {
+        View amPmView = ((ViewGroup) mTimePicker.getChildAt(0)).getChildAt(3);
+
+        if (amPmView instanceof NumberPicker)
+        {
+            ((NumberPicker) amPmView).setOnValueChangedListener(new OnValueChangeListener() {
+
+                @Override
+                public void onValueChange(NumberPicker picker, int oldVal, int newVal)
+                {
+                    if (picker.getValue() == 1)  // PM
+                    {
+                        if (mTimePicker.getCurrentHour() < 12)
+                            mTimePicker.setCurrentHour(mTimePicker.getCurrentHour() + 12);
+                    }
+                    else  // AM
+                    {
+                        if (mTimePicker.getCurrentHour() >= 12)
+                            mTimePicker.setCurrentHour(mTimePicker.getCurrentHour() - 12);
+                    }
+
+                    mCallback.onTimeChanged(
+                        mTimePicker.getCurrentHour(),
+                        mTimePicker.getCurrentMinute());
+                }
+            });
+        }
+    }
+}
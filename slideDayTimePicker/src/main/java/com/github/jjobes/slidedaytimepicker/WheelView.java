@@ -0,0 +1,956 @@
+package com.github.jjobes.slidedaytimepicker;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.v4.view.AccessibilityDelegateCompat;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityEventCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.view.accessibility.AccessibilityRecordCompat;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.animation.DecelerateInterpolator;
+import android.widget.Scroller;
+
+/**
+ * <p>A lightweight picker wheel that draws its items directly onto the
+ * {@code Canvas}.</p>
+ *
+ * <p>Unlike {@link CustomNumberPicker} and {@link CustomTimePicker}, which
+ * wrap the platform {@code NumberPicker} and its hidden {@code EditText} and
+ * buttons, this is a single {@code View} with no children and needs no
+ * reflection. All items are drawn with one reused {@code Paint}, and each
+ * label's width is looked up in the shared {@link TextLayoutCache} rather
+ * than measured on every frame, so scrolling only costs a redraw of this
+ * view.</p>
+ *
+ * <p>The API mirrors the parts of {@code NumberPicker} that this library
+ * uses: a min/max value range, optional displayed values or a
+ * {@link Formatter}, wrapping, and a value change listener. In addition,
+ * a step size can be set with {@link #setStep(int)}.</p>
+ *
+ * <p>Values are never stored in an array. The wheel works with the
+ * virtual index of each value, <tt>(value - min) / step</tt>, and when it
+ * wraps it maps an index that has scrolled off either end back into range
+ * with modular arithmetic. A cyclic wheel therefore uses the same
+ * amount of memory whatever its range.</p>
+ *
+ * <p>Listeners are told about the value on two separate channels. While the
+ * wheel is moving, each value that passes the center is reported to the
+ * cheap {@link OnValueScrollListener}. The {@link OnValueChangeListener} is
+ * only told once the wheel has come to rest on a new value. A fling works
+ * out the value it will come to rest on as soon as it starts (see
+ * {@link #getTargetValue()}) and is steered to land exactly on it, so it
+ * needs no separate snap afterwards.</p>
+ *
+ * <p>Like {@code NumberPicker}, the wheel can be focused and moved one
+ * item at a time with the D-pad, reports its value and scroll actions to
+ * accessibility services, and saves its value across a configuration
+ * change.</p>
+ *
+ * @author jjobes
+ *
+ */
+public class WheelView extends View
+{
+    /**
+     * Notified when the wheel comes to rest on a value other than the
+     * one it last came to rest on.
+     */
+    public interface OnValueChangeListener
+    {
+        void onValueChange(WheelView wheel, int oldVal, int newVal);
+    }
+
+    /**
+     * Notified each time a new value passes the center of the wheel while
+     * it is being dragged, flung or animated. This is called many times
+     * during a single fling, so implementations should be cheap.
+     */
+    public interface OnValueScrollListener
+    {
+        void onValueScrolled(WheelView wheel, int oldVal, int newVal);
+    }
+
+    /**
+     * Used to produce the label displayed for a value when no
+     * displayed values have been set.
+     */
+    public interface Formatter
+    {
+        String format(int value);
+    }
+
+    /**
+     * A {@link Formatter} that pads values below ten with a leading zero.
+     * The labels for <tt>0-99</tt> are created once and shared.
+     */
+    public static final Formatter TWO_DIGIT_FORMATTER = new Formatter() {
+
+        @Override
+        public String format(int value)
+        {
+            if (value >= 0 && value < SHARED_LABEL_COUNT)
+                return getSharedLabel(value, true);
+
+            return value < 10 ? "0" + value : Integer.toString(value);
+        }
+    };
+
+    // The labels for 0-99, with and without a leading zero, shared by
+    // every wheel so that drawing numbers does not allocate strings.
+    private static final int SHARED_LABEL_COUNT = 100;
+    private static final String[] sNumberLabels = new String[SHARED_LABEL_COUNT];
+    private static final String[] sTwoDigitLabels = new String[SHARED_LABEL_COUNT];
+
+    private static synchronized String getSharedLabel(int value, boolean twoDigits)
+    {
+        String[] labels = twoDigits ? sTwoDigitLabels : sNumberLabels;
+        String label = labels[value];
+
+        if (label == null)
+        {
+            label = (twoDigits && value < 10) ? "0" + value : Integer.toString(value);
+            labels[value] = label;
+        }
+
+        return label;
+    }
+
+    private static final int VISIBLE_ITEMS = 3;
+    private static final int ITEM_HEIGHT_DIPS = 48;
+    private static final int TEXT_SIZE_SP = 20;
+    private static final int SELECTION_DIVIDER_HEIGHT_DIPS = 2;
+    private static final int HORIZONTAL_PADDING_DIPS = 16;
+    private static final int SNAP_DURATION_MILLIS = 300;
+    private static final int UNSELECTED_ITEM_ALPHA = 0x66;
+
+    // Measuring every label to find the widest one is skipped for
+    // larger ranges, where only the min and max labels are measured.
+    private static final int MAX_MEASURED_LABELS = 100;
+
+    private final Paint mTextPaint;
+    private final int mTextAlpha;
+    private final float mTextBaselineOffset;
+    private final int mItemHeight;
+    private final int mSelectionDividerHeight;
+    private final int mHorizontalPadding;
+    private final Drawable mSelectionDivider;
+    private final Scroller mScroller;
+    private final int mTouchSlop;
+    private final int mMinimumFlingVelocity;
+    private final int mMaximumFlingVelocity;
+
+    private int mMinValue;
+    private int mMaxValue;
+    private int mStep = 1;
+    private int mValue;
+    private String[] mDisplayedValues;
+    private Formatter mFormatter;
+    private boolean mWrapSelectorWheel = true;
+    private OnValueChangeListener mOnValueChangeListener;
+    private OnValueScrollListener mOnValueScrollListener;
+
+    // The value last reported to the OnValueChangeListener, and the value
+    // the current fling or animation will come to rest on.
+    private int mCommittedValue;
+    private int mTargetValue;
+
+    // How far, in pixels, the items have been scrolled up past the
+    // currently selected value. Always within half an item height.
+    private int mScrollOffset;
+
+    private VelocityTracker mVelocityTracker;
+    private float mDownMotionY;
+    private float mLastMotionY;
+    private boolean mIsBeingDragged;
+    private int mLastScrollerY;
+
+    public WheelView(Context context)
+    {
+        this(context, null);
+    }
+
+    public WheelView(Context context, AttributeSet attrs)
+    {
+        this(context, attrs, 0);
+    }
+
+    public WheelView(Context context, AttributeSet attrs, int defStyle)
+    {
+        super(context, attrs, defStyle);
+
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+
+        mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mTextPaint.setTextAlign(Paint.Align.LEFT);
+        mTextPaint.setTextSize(TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, TEXT_SIZE_SP, metrics));
+        mTextPaint.setColor(resolveTextColor(context));
+        mTextAlpha = mTextPaint.getAlpha();
+        mTextBaselineOffset = -(mTextPaint.ascent() + mTextPaint.descent()) / 2f;
+
+        mItemHeight = (int) (ITEM_HEIGHT_DIPS * metrics.density + 0.5f);
+        mSelectionDividerHeight = (int) (SELECTION_DIVIDER_HEIGHT_DIPS * metrics.density + 0.5f);
+        mHorizontalPadding = (int) (HORIZONTAL_PADDING_DIPS * metrics.density + 0.5f);
+        mSelectionDivider = SelectionDividerProvider.getDrawable(getResources());
+
+        mScroller = new Scroller(context, new DecelerateInterpolator(2.5f));
+
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMinimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+
+        setFocusable(true);
+
+        if (ViewCompat.getImportantForAccessibility(this) ==
+                ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO)
+        {
+            ViewCompat.setImportantForAccessibility(this,
+                    ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_YES);
+        }
+
+        ViewCompat.setAccessibilityDelegate(this, new WheelAccessibilityDelegate());
+    }
+
+    /**
+     * Use the theme's primary text color so that the wheel matches the
+     * Holo Light or Holo Dark theme it was inflated with.
+     */
+    private static int resolveTextColor(Context context)
+    {
+        return ThemedPageContext.getColorAttribute(context,
+                android.R.attr.textColorPrimary, 0xFF000000);
+    }
+
+    public int getMinValue()
+    {
+        return mMinValue;
+    }
+
+    public void setMinValue(int minValue)
+    {
+        mMinValue = minValue;
+        mValue = getNearestValue(mValue);
+
+        requestLayout();
+        invalidate();
+    }
+
+    public int getMaxValue()
+    {
+        return mMaxValue;
+    }
+
+    public void setMaxValue(int maxValue)
+    {
+        mMaxValue = maxValue;
+        mValue = getNearestValue(mValue);
+
+        requestLayout();
+        invalidate();
+    }
+
+    public int getStep()
+    {
+        return mStep;
+    }
+
+    /**
+     * Set the difference between adjacent values on the wheel. The
+     * wheel shows {@code min}, {@code min + step}, {@code min + 2 * step}
+     * and so on, up to and not past {@code max}. Defaults to <tt>1</tt>.
+     *
+     * @param step  a positive step size
+     */
+    public void setStep(int step)
+    {
+        if (step <= 0)
+        {
+            throw new IllegalArgumentException(
+                    "Step specified as " + step + ". Step must be > 0");
+        }
+
+        mStep = step;
+        mValue = getNearestValue(mValue);
+
+        requestLayout();
+        invalidate();
+    }
+
+    public int getValue()
+    {
+        return mValue;
+    }
+
+    /**
+     * Set the selected value without animating and without notifying
+     * the {@link OnValueChangeListener}. A value between two steps is
+     * rounded to the nearest step.
+     *
+     * @param value  a value between the min and max values
+     */
+    public void setValue(int value)
+    {
+        mScroller.forceFinished(true);
+        mScrollOffset = 0;
+        mValue = getNearestValue(value);
+        mCommittedValue = mValue;
+        mTargetValue = mValue;
+
+        invalidate();
+    }
+
+    /**
+     * @return the value the wheel will come to rest on. While a fling
+     *         or animation is running this is known from the moment it
+     *         starts, otherwise it is the current value.
+     */
+    public int getTargetValue()
+    {
+        return mScroller.isFinished() ? mValue : mTargetValue;
+    }
+
+    /**
+     * Set the labels to display, one for each value on the wheel from
+     * the min value up to the max value. Takes precedence over the
+     * {@link Formatter}.
+     *
+     * @param displayedValues
+     */
+    public void setDisplayedValues(String[] displayedValues)
+    {
+        mDisplayedValues = displayedValues;
+
+        requestLayout();
+        invalidate();
+    }
+
+    public void setFormatter(Formatter formatter)
+    {
+        mFormatter = formatter;
+
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Set whether the wheel is cyclic, wrapping around from the max value
+     * to the min value. Wrapping is only done if there are at least as
+     * many values as fit in the wheel.
+     *
+     * @param wrapSelectorWheel
+     */
+    public void setWrapSelectorWheel(boolean wrapSelectorWheel)
+    {
+        mWrapSelectorWheel = wrapSelectorWheel;
+
+        invalidate();
+    }
+
+    public void setOnValueChangedListener(OnValueChangeListener onValueChangeListener)
+    {
+        mOnValueChangeListener = onValueChangeListener;
+    }
+
+    public void setOnValueScrolledListener(OnValueScrollListener onValueScrollListener)
+    {
+        mOnValueScrollListener = onValueScrollListener;
+    }
+
+    /**
+     * @return the number of values on the wheel
+     */
+    private int getCount()
+    {
+        return mMaxValue < mMinValue ? 1 : (mMaxValue - mMinValue) / mStep + 1;
+    }
+
+    private int getIndex(int value)
+    {
+        return (value - mMinValue) / mStep;
+    }
+
+    /**
+     * Round {@code value} to the nearest value on the wheel.
+     */
+    private int getNearestValue(int value)
+    {
+        int index = Math.round((value - mMinValue) / (float) mStep);
+        index = Math.max(0, Math.min(getCount() - 1, index));
+
+        return mMinValue + index * mStep;
+    }
+
+    private boolean canWrap()
+    {
+        return mWrapSelectorWheel && getCount() >= VISIBLE_ITEMS;
+    }
+
+    private boolean hasNext(int value)
+    {
+        return canWrap() || getIndex(value) < getCount() - 1;
+    }
+
+    private boolean hasPrevious(int value)
+    {
+        return canWrap() || getIndex(value) > 0;
+    }
+
+    /**
+     * Return the value {@code offset} items away from the selected one,
+     * or {@code Integer.MIN_VALUE} if there is no such value.
+     */
+    private int getValueAtOffset(int offset)
+    {
+        int count = getCount();
+        int index = getIndex(mValue) + offset;
+
+        if (canWrap())
+            index = ((index % count) + count) % count;
+        else if (index < 0 || index >= count)
+            return Integer.MIN_VALUE;
+
+        return mMinValue + index * mStep;
+    }
+
+    private String getLabel(int value)
+    {
+        if (mDisplayedValues != null)
+            return mDisplayedValues[getIndex(value)];
+
+        if (mFormatter != null)
+            return mFormatter.format(value);
+
+        if (value >= 0 && value < SHARED_LABEL_COUNT)
+            return getSharedLabel(value, false);
+
+        return Integer.toString(value);
+    }
+
+    private void changeValue(int newValue)
+    {
+        int oldValue = mValue;
+        mValue = newValue;
+
+        if (mOnValueScrollListener != null && oldValue != newValue)
+            mOnValueScrollListener.onValueScrolled(this, oldValue, newValue);
+    }
+
+    /**
+     * Called once the wheel has come to rest. Reports the current value
+     * to the {@link OnValueChangeListener} if it has changed.
+     */
+    private void commitValue()
+    {
+        int oldValue = mCommittedValue;
+        mCommittedValue = mValue;
+
+        if (oldValue == mValue)
+            return;
+
+        if (mOnValueChangeListener != null)
+            mOnValueChangeListener.onValueChange(this, oldValue, mValue);
+
+        sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+    }
+
+    /**
+     * Limit a scroll of {@code items} items from the current value so
+     * that a wheel that doesn't wrap stops at its min or max value.
+     */
+    private int clampItems(int items)
+    {
+        if (canWrap())
+            return items;
+
+        int index = getIndex(mValue);
+
+        return Math.max(-index, Math.min(getCount() - 1 - index, items));
+    }
+
+    /**
+     * Scroll the items up by {@code dy} pixels (or down if negative),
+     * changing the selected value each time more than half an item
+     * passes the center of the wheel.
+     *
+     * @return <tt>true</tt> if the scroll was stopped at the min or max value
+     */
+    private boolean scrollByOffset(int dy)
+    {
+        boolean clamped = false;
+
+        mScrollOffset += dy;
+
+        while (mScrollOffset > mItemHeight / 2 && hasNext(mValue))
+        {
+            mScrollOffset -= mItemHeight;
+            changeValue(getValueAtOffset(1));
+        }
+
+        while (mScrollOffset < -mItemHeight / 2 && hasPrevious(mValue))
+        {
+            mScrollOffset += mItemHeight;
+            changeValue(getValueAtOffset(-1));
+        }
+
+        if ((mScrollOffset > 0 && !hasNext(mValue)) ||
+            (mScrollOffset < 0 && !hasPrevious(mValue)))
+        {
+            mScrollOffset = 0;
+            clamped = true;
+        }
+
+        invalidate();
+
+        return clamped;
+    }
+
+    /**
+     * Animate the items by {@code dy} pixels, which should leave the
+     * wheel resting exactly on an item.
+     */
+    private void smoothScrollBy(int dy)
+    {
+        mLastScrollerY = 0;
+        mTargetValue = getValueAtOffset(
+                clampItems(Math.round((mScrollOffset + dy) / (float) mItemHeight)));
+        mScroller.startScroll(0, 0, 0, dy, SNAP_DURATION_MILLIS);
+
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
+    /**
+     * Animate the wheel by one item to the next or previous value.
+     *
+     * @param forward  <tt>true</tt> to move to the next value
+     * @return <tt>false</tt> if there is no value in that direction
+     */
+    private boolean scrollByOneItem(boolean forward)
+    {
+        if (forward ? !hasNext(mValue) : !hasPrevious(mValue))
+            return false;
+
+        smoothScrollBy((forward ? mItemHeight : -mItemHeight) - mScrollOffset);
+
+        return true;
+    }
+
+    private void snapToSelectedValue()
+    {
+        if (mScrollOffset != 0)
+            smoothScrollBy(-mScrollOffset);
+        else
+            commitValue();
+    }
+
+    /**
+     * Start a fling and immediately work out which value it will come to
+     * rest on. The distance the fling would naturally travel is rounded
+     * to the nearest whole item (and limited to the ends of a wheel that
+     * doesn't wrap), and the fling is steered to stop exactly there.
+     */
+    private void fling(int velocityY)
+    {
+        mLastScrollerY = 0;
+        mScroller.fling(0, 0, 0, velocityY, 0, 0, -Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        int items = clampItems(Math.round(
+                (mScrollOffset + mScroller.getFinalY()) / (float) mItemHeight));
+
+        mScroller.setFinalY(items * mItemHeight - mScrollOffset);
+        mTargetValue = getValueAtOffset(items);
+
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
+    @Override
+    public void computeScroll()
+    {
+        if (!mScroller.computeScrollOffset())
+            return;
+
+        int y = mScroller.getCurrY();
+        boolean clamped = scrollByOffset(y - mLastScrollerY);
+        mLastScrollerY = y;
+
+        if (clamped)
+            mScroller.forceFinished(true);
+
+        if (!mScroller.isFinished())
+        {
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+        else
+        {
+            // The fling or animation has come to rest. A fling should already
+            // have landed on an item, but snap anyway in case it was stopped
+            // early at the end of a wheel that doesn't wrap.
+            snapToSelectedValue();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event)
+    {
+        if (!isEnabled())
+            return false;
+
+        if (mVelocityTracker == null)
+            mVelocityTracker = VelocityTracker.obtain();
+
+        mVelocityTracker.addMovement(event);
+
+        switch (event.getAction() & MotionEvent.ACTION_MASK)
+        {
+        case MotionEvent.ACTION_DOWN:
+            // Touching the wheel while it is moving stops it where it is.
+            mIsBeingDragged = !mScroller.isFinished();
+            mScroller.forceFinished(true);
+            mDownMotionY = event.getY();
+            mLastMotionY = mDownMotionY;
+            break;
+
+        case MotionEvent.ACTION_MOVE:
+            float y = event.getY();
+
+            if (!mIsBeingDragged && Math.abs(y - mDownMotionY) > mTouchSlop)
+            {
+                mIsBeingDragged = true;
+                mLastMotionY = y;
+            }
+
+            if (mIsBeingDragged)
+            {
+                int dy = (int) (mLastMotionY - y);
+                mLastMotionY -= dy;
+                scrollByOffset(dy);
+            }
+            break;
+
+        case MotionEvent.ACTION_UP:
+            if (mIsBeingDragged)
+            {
+                mVelocityTracker.computeCurrentVelocity(1000, mMaximumFlingVelocity);
+                int velocityY = (int) mVelocityTracker.getYVelocity();
+
+                if (Math.abs(velocityY) > mMinimumFlingVelocity)
+                    fling(-velocityY);
+                else
+                    snapToSelectedValue();
+            }
+            else
+            {
+                // A tap above or below the selection moves the wheel by one item.
+                float centerY = getPaddingTop() + (getHeight() - getPaddingTop() - getPaddingBottom()) / 2f;
+
+                boolean scrolled = false;
+
+                if (event.getY() < centerY - mItemHeight / 2f)
+                    scrolled = scrollByOneItem(false);
+                else if (event.getY() > centerY + mItemHeight / 2f)
+                    scrolled = scrollByOneItem(true);
+
+                if (!scrolled)
+                    snapToSelectedValue();
+            }
+
+            recycleVelocityTracker();
+            mIsBeingDragged = false;
+            break;
+
+        case MotionEvent.ACTION_CANCEL:
+            snapToSelectedValue();
+            recycleVelocityTracker();
+            mIsBeingDragged = false;
+            break;
+        }
+
+        return true;
+    }
+
+    /**
+     * Move the wheel by one item with the D-pad. At the end of a wheel
+     * that doesn't wrap the key is not handled, so focus can move on.
+     */
+    @Override
+    public boolean onKeyDown(int keyCode, KeyEvent event)
+    {
+        if (isEnabled())
+        {
+            switch (keyCode)
+            {
+            case KeyEvent.KEYCODE_DPAD_UP:
+                if (scrollByOneItem(false))
+                    return true;
+                break;
+
+            case KeyEvent.KEYCODE_DPAD_DOWN:
+                if (scrollByOneItem(true))
+                    return true;
+                break;
+            }
+        }
+
+        return super.onKeyDown(keyCode, event);
+    }
+
+    private void recycleVelocityTracker()
+    {
+        if (mVelocityTracker != null)
+        {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow()
+    {
+        super.onDetachedFromWindow();
+
+        mScroller.forceFinished(true);
+        mScrollOffset = 0;
+        recycleVelocityTracker();
+
+        // Don't lose a value that was scrolled to but never came to rest.
+        commitValue();
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState()
+    {
+        SavedState ss = new SavedState(super.onSaveInstanceState());
+        ss.value = getTargetValue();
+
+        return ss;
+    }
+
+    /**
+     * Restore the value the wheel was showing. The
+     * {@link OnValueChangeListener} is told if it differs from the value
+     * the wheel was set to, so that whoever follows the wheel is in step
+     * with it again.
+     */
+    @Override
+    protected void onRestoreInstanceState(Parcelable state)
+    {
+        if (!(state instanceof SavedState))
+        {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+
+        SavedState ss = (SavedState) state;
+        super.onRestoreInstanceState(ss.getSuperState());
+
+        mScroller.forceFinished(true);
+        mScrollOffset = 0;
+        mValue = getNearestValue(ss.value);
+        mTargetValue = mValue;
+        commitValue();
+
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
+    {
+        int desiredWidth = (int) Math.ceil(getMaxLabelWidth()) + 2 * mHorizontalPadding +
+                getPaddingLeft() + getPaddingRight();
+        int desiredHeight = VISIBLE_ITEMS * mItemHeight + getPaddingTop() + getPaddingBottom();
+
+        setMeasuredDimension(resolveSize(desiredWidth, widthMeasureSpec),
+                resolveSize(desiredHeight, heightMeasureSpec));
+    }
+
+    private float getMaxLabelWidth()
+    {
+        float maxWidth = 0;
+
+        if (mDisplayedValues != null)
+        {
+            for (String label : mDisplayedValues)
+                maxWidth = Math.max(maxWidth, measureLabel(label).width);
+        }
+        else if (getCount() <= MAX_MEASURED_LABELS)
+        {
+            for (int value = mMinValue; value <= mMaxValue; value += mStep)
+                maxWidth = Math.max(maxWidth, measureLabel(getLabel(value)).width);
+        }
+        else
+        {
+            int lastValue = mMinValue + (getCount() - 1) * mStep;
+
+            maxWidth = Math.max(measureLabel(getLabel(mMinValue)).width,
+                    measureLabel(getLabel(lastValue)).width);
+        }
+
+        return maxWidth;
+    }
+
+    private TextLayoutCache.MeasuredLabel measureLabel(String label)
+    {
+        return TextLayoutCache.get(label, mTextPaint);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas)
+    {
+        int left = getPaddingLeft();
+        int right = getWidth() - getPaddingRight();
+        float centerX = (left + right) / 2f;
+        int centerY = getPaddingTop() + (getHeight() - getPaddingTop() - getPaddingBottom()) / 2;
+
+        // Draw one extra item on each side so that partially visible
+        // items are shown while scrolling.
+        int halfCount = VISIBLE_ITEMS / 2 + 1;
+
+        for (int offset = -halfCount; offset <= halfCount; offset++)
+        {
+            int value = getValueAtOffset(offset);
+
+            if (value == Integer.MIN_VALUE)
+                continue;
+
+            float itemCenterY = centerY + offset * mItemHeight - mScrollOffset;
+
+            // Fade the items out as they move away from the selection.
+            float distance = Math.min(1f, Math.abs(itemCenterY - centerY) / mItemHeight);
+            int alpha = (int) (mTextAlpha - (mTextAlpha - UNSELECTED_ITEM_ALPHA) * distance);
+            mTextPaint.setAlpha(Math.min(mTextAlpha, alpha));
+
+            TextLayoutCache.MeasuredLabel label = measureLabel(getLabel(value));
+            canvas.drawText(label.text, centerX - label.width / 2f,
+                    itemCenterY + mTextBaselineOffset, mTextPaint);
+        }
+
+        mTextPaint.setAlpha(mTextAlpha);
+
+        // Draw the selection dividers above and below the selected item.
+        int topDividerTop = centerY - mItemHeight / 2;
+        mSelectionDivider.setBounds(left, topDividerTop, right,
+                topDividerTop + mSelectionDividerHeight);
+        mSelectionDivider.draw(canvas);
+
+        int bottomDividerBottom = centerY + mItemHeight / 2;
+        mSelectionDivider.setBounds(left, bottomDividerBottom - mSelectionDividerHeight,
+                right, bottomDividerBottom);
+        mSelectionDivider.draw(canvas);
+    }
+
+    /**
+     * Exposes the selected value to accessibility services, and lets them
+     * scroll the wheel forward and backward one item at a time.
+     */
+    private class WheelAccessibilityDelegate extends AccessibilityDelegateCompat
+    {
+        @Override
+        public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfoCompat info)
+        {
+            super.onInitializeAccessibilityNodeInfo(host, info);
+
+            info.setClassName(WheelView.class.getName());
+            info.setText(getLabel(getTargetValue()));
+            info.setScrollable(isEnabled());
+
+            if (isEnabled() && hasNext(getTargetValue()))
+                info.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD);
+
+            if (isEnabled() && hasPrevious(getTargetValue()))
+                info.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD);
+        }
+
+        @Override
+        public void onInitializeAccessibilityEvent(View host, AccessibilityEvent event)
+        {
+            super.onInitializeAccessibilityEvent(host, event);
+
+            event.setClassName(WheelView.class.getName());
+
+            AccessibilityRecordCompat record = AccessibilityEventCompat.asRecord(event);
+            record.setScrollable(true);
+            record.setItemCount(getCount());
+            record.setFromIndex(getIndex(getTargetValue()));
+            record.setToIndex(getIndex(getTargetValue()));
+        }
+
+        @Override
+        public void onPopulateAccessibilityEvent(View host, AccessibilityEvent event)
+        {
+            super.onPopulateAccessibilityEvent(host, event);
+
+            event.getText().add(getLabel(getTargetValue()));
+        }
+
+        @Override
+        public boolean performAccessibilityAction(View host, int action, Bundle args)
+        {
+            if (isEnabled())
+            {
+                switch (action)
+                {
+                case AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD:
+                    return scrollByOneItem(true);
+
+                case AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD:
+                    return scrollByOneItem(false);
+                }
+            }
+
+            return super.performAccessibilityAction(host, action, args);
+        }
+    }
+
+    static class SavedState extends BaseSavedState
+    {
+        int value;
+
+        SavedState(Parcelable superState)
+        {
+            super(superState);
+        }
+
+        private SavedState(Parcel in)
+        {
+            super(in);
+            value = in.readInt();
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags)
+        {
+            super.writeToParcel(dest, flags);
+            dest.writeInt(value);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR =
+                new Parcelable.Creator<SavedState>() {
+
+            @Override
+            public SavedState createFromParcel(Parcel in)
+            {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size)
+            {
+                return new SavedState[size];
+            }
+        };
+    }
+}
@@ -17,9 +17,30 @@ import com.github.jjobes.slidedaytimepicker.SlideDayTimePicker;
  *
  */
 public class SampleActivity extends FragmentActivity
+    implements SlideDayTimePicker.ListenerProvider
 {
     private Button mButton;
 
+    // Created with each activity, and handed to a dialog that is still
+    // showing after a rotation through getSlideDayTimeListener().
+    private final SlideDayTimeListener mListener = new SlideDayTimeListener() {
+
+        @Override
+        public void onDayTimeSet(int day, int hour, int minute)
+        {
+            Toast.makeText(
+                    SampleActivity.this,
+                    "day = " + day + "\nhour = " + hour + "\nminute = " + minute,
+                    Toast.LENGTH_LONG).show();
+        }
+
+        @Override
+        public void onDayTimeCancel()
+        {
+            Toast.makeText(SampleActivity.this, "Canceled", Toast.LENGTH_SHORT).show();
+        }
+    };
+
     @Override
     protected void onCreate(Bundle savedInstanceState)
     {
@@ -29,31 +50,13 @@ public class SampleActivity extends FragmentActivity
 
         mButton = (Button) findViewById(R.id.button);
 
-        final SlideDayTimeListener listener = new SlideDayTimeListener() {
-
-            @Override
-            public void onDayTimeSet(int day, int hour, int minute)
-            {
-                Toast.makeText(
-                        SampleActivity.this,
-                        "day = " + day + "\nhour = " + hour + "\nminute = " + minute,
-                        Toast.LENGTH_LONG).show();
-            }
-
-            @Override
-            public void onDayTimeCancel()
-            {
-                Toast.makeText(SampleActivity.this, "Canceled", Toast.LENGTH_SHORT).show();
-            }
-        };
-
         mButton.setOnClickListener(new OnClickListener() {
 
             @Override
             public void onClick(View v)
             {
                 new SlideDayTimePicker.Builder(getSupportFragmentManager())
-                    .setListener(listener)
+                    .setListener(mListener)
                     .setInitialDay(1)
                     .setInitialHour(13)
                     .setInitialMinute(30)
@@ -66,4 +69,10 @@ public class SampleActivity extends FragmentActivity
             }
         });
     }
+
+    @Override
+    public SlideDayTimeListener getSlideDayTimeListener()
+    {
+        return mListener;
+    }
 }